@@ -4,6 +4,7 @@ plugins {
     alias(libs.plugins.ben.manes.versions)
     `jvm-test-suite`
     alias(libs.plugins.spotless)
+    alias(libs.plugins.jmh)
 }
 
 group = "com.desiderantes"
@@ -25,6 +26,57 @@ tasks.javadoc {
 dependencies {
     implementation(libs.jna)
 }
+
+// Java 22 layer of the multi-release jar, with the java.lang.foreign native
+// backend (see lowlevel.NativeBackend). Needs a Java 22 toolchain, so is only
+// built when the ffm property is set, eg. ./gradlew jar -Pffm
+if (providers.gradleProperty("ffm").isPresent) {
+    val java22 by sourceSets.creating {
+        java.srcDir("src/main/java22")
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    }
+
+    tasks.named<JavaCompile>(java22.compileJavaTaskName) {
+        javaCompiler.set(javaToolchains.compilerFor {
+            languageVersion.set(JavaLanguageVersion.of(22))
+        })
+        options.release.set(22)
+    }
+
+    tasks.jar {
+        into("META-INF/versions/22") {
+            from(java22.output)
+        }
+        manifest {
+            attributes("Multi-Release" to "true")
+        }
+    }
+
+    // NativeBackendTest against the multi-release jar on Java 22, with the
+    // FFM backend selected - the class directories only contain the Java 17
+    // stub, so the main test task never loads the FFM backend.
+    val ffmTest by tasks.registering(Test::class) {
+        description = "Runs the native backend tests with the FFM backend on Java 22."
+        group = LifecycleBasePlugin.VERIFICATION_GROUP
+        javaLauncher.set(javaToolchains.launcherFor {
+            languageVersion.set(JavaLanguageVersion.of(22))
+        })
+        val test = sourceSets.test.get()
+        testClassesDirs = test.output.classesDirs
+        classpath = files(tasks.jar) + (test.runtimeClasspath - sourceSets.main.get().output)
+        useJUnitPlatform()
+        filter {
+            includeTestsMatching("org.freedesktop.gstreamer.lowlevel.NativeBackendTest")
+        }
+        jvmArgs("--enable-native-access=ALL-UNNAMED", "-Djna.nosys=true")
+        systemProperty("gstreamer.nativeBackend", "ffm")
+        systemProperty("gstreamer.test.expectBackend", "ffm")
+    }
+
+    tasks.check {
+        dependsOn(ffmTest)
+    }
+}
 @Suppress("UnstableApiUsage")
 testing {
     suites {
@@ -53,6 +105,19 @@ testing {
     }
 }
 
+// Benchmarks in src/jmh/java, run with ./gradlew jmh - results are written as
+// JSON for comparison between runs. Select benchmarks with -PjmhIncludes=<regex>
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    jvmArgsAppend.addAll("--enable-native-access=ALL-UNNAMED", "-Djna.nosys=true")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
 spotless {
     java {
         licenseHeaderFile(rootProject.file("src/main/java/org/freedesktop/gstreamer/Gst.java"), "package")
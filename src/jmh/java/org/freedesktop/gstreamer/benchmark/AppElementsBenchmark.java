@@ -0,0 +1,271 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.FlowReturn;
+import org.freedesktop.gstreamer.Gst;
+import org.freedesktop.gstreamer.Pipeline;
+import org.freedesktop.gstreamer.Sample;
+import org.freedesktop.gstreamer.elements.AppSink;
+import org.freedesktop.gstreamer.elements.AppSinkPublisher;
+import org.freedesktop.gstreamer.elements.AppSrc;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moving buffers in and out of running pipelines with AppSrc and AppSink.
+ * <p>
+ * Only stock GStreamer plugins (appsrc, appsink, fakesink and videotestsrc)
+ * are required.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AppElementsBenchmark {
+
+    private static final int BATCH = 64;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final String RAW_VIDEO = "videotestsrc pattern=black"
+            + " ! video/x-raw,format=I420,width=64,height=48";
+
+    @Benchmark
+    public FlowReturn pushBuffer(PushState state) {
+        return state.src.pushBuffer(new Buffer(state.size));
+    }
+
+    @Benchmark
+    public long pullSample(PullState state) {
+        Sample sample = state.sink.pullSample();
+        long size = sample.getBuffer().getMemoryCount();
+        sample.dispose();
+        return size;
+    }
+
+    @Benchmark
+    public long pushPullRoundTrip(RoundTripState state) {
+        state.src.pushBuffer(new Buffer(state.size));
+        Sample sample = state.sink.pullSample();
+        long size = sample.getBuffer().getMemoryCount();
+        sample.dispose();
+        return size;
+    }
+
+    /**
+     * Samples delivered to a consumer on the streaming thread, comparing the
+     * native callbacks used by {@link AppSink.SampleHandler}, the
+     * <code>new-sample</code> signal, and {@link AppSinkPublisher}.
+     * <p>
+     * The benchmark thread only waits for delivery, so the CPU time used by
+     * the streaming thread is also reported, including the cost of producing
+     * the samples. Divide <code>streamingCpuNanos</code> by
+     * <code>samples</code> for the CPU time per sample.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long sampleDelivery(DeliveryState state, CpuCounters cpu) {
+        long start = state.streamingCpuTime();
+        long target = state.delivered.get() + BATCH;
+        Benchmarks.awaitCount(state.delivered::get, target);
+        long end = state.streamingCpuTime();
+        if (start >= 0 && end >= 0) {
+            cpu.streamingCpuNanos += end - start;
+            cpu.samples += BATCH;
+        }
+        return target;
+    }
+
+    @State(Scope.Thread)
+    public static class PushState {
+
+        @Param({"64", "4096"})
+        public int size;
+
+        Pipeline pipeline;
+        AppSrc src;
+
+        @Setup
+        public void setup() {
+            Benchmarks.init();
+            pipeline = (Pipeline) Gst.parseLaunch(
+                    "appsrc name=src format=bytes block=true max-bytes=65536"
+                    + " ! fakesink sync=false");
+            src = (AppSrc) pipeline.getElementByName("src");
+            pipeline.play();
+        }
+
+        @TearDown
+        public void tearDown() {
+            stop(pipeline);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PullState {
+
+        Pipeline pipeline;
+        AppSink sink;
+
+        @Setup
+        public void setup() {
+            Benchmarks.init();
+            pipeline = (Pipeline) Gst.parseLaunch(RAW_VIDEO
+                    + " ! appsink name=sink sync=false max-buffers=4");
+            sink = (AppSink) pipeline.getElementByName("sink");
+            pipeline.play();
+        }
+
+        @TearDown
+        public void tearDown() {
+            stop(pipeline);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RoundTripState {
+
+        @Param({"64", "4096"})
+        public int size;
+
+        Pipeline pipeline;
+        AppSrc src;
+        AppSink sink;
+
+        @Setup
+        public void setup() {
+            Benchmarks.init();
+            pipeline = (Pipeline) Gst.parseLaunch(
+                    "appsrc name=src format=bytes ! appsink name=sink sync=false");
+            src = (AppSrc) pipeline.getElementByName("src");
+            sink = (AppSink) pipeline.getElementByName("sink");
+            pipeline.play();
+        }
+
+        @TearDown
+        public void tearDown() {
+            stop(pipeline);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DeliveryState {
+
+        @Param({"handler", "signal", "publisher"})
+        public String consumer;
+
+        final AtomicLong delivered = new AtomicLong();
+        volatile long streamingThread = -1;
+        Pipeline pipeline;
+
+        @Setup
+        public void setup() {
+            Benchmarks.init();
+            pipeline = (Pipeline) Gst.parseLaunch(RAW_VIDEO
+                    + " ! appsink name=sink sync=false");
+            AppSink sink = (AppSink) pipeline.getElementByName("sink");
+            if ("handler".equals(consumer)) {
+                sink.setSampleHandler((elem, sample) -> {
+                    sample.dispose();
+                    delivered();
+                    return FlowReturn.OK;
+                });
+            } else if ("signal".equals(consumer)) {
+                sink.set("emit-signals", true);
+                sink.connect((AppSink.NEW_SAMPLE) elem -> {
+                    elem.pullSample().dispose();
+                    delivered();
+                    return FlowReturn.OK;
+                });
+            } else {
+                new AppSinkPublisher(sink, 4, false).subscribe(new CountingSubscriber(this));
+            }
+            pipeline.play();
+        }
+
+        @TearDown
+        public void tearDown() {
+            stop(pipeline);
+        }
+
+        void delivered() {
+            if (streamingThread < 0) {
+                streamingThread = Thread.currentThread().getId();
+            }
+            delivered.incrementAndGet();
+        }
+
+        /**
+         * CPU time of the thread delivering samples, or -1 before the first
+         * delivery.
+         */
+        long streamingCpuTime() {
+            long thread = streamingThread;
+            return thread < 0 ? -1 : THREADS.getThreadCpuTime(thread);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters {
+
+        public long streamingCpuNanos;
+        public long samples;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            streamingCpuNanos = 0;
+            samples = 0;
+        }
+    }
+
+    private static final class CountingSubscriber implements Flow.Subscriber<Sample> {
+
+        private final DeliveryState state;
+
+        private CountingSubscriber(DeliveryState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Sample sample) {
+            sample.dispose();
+            state.delivered();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static void stop(Pipeline pipeline) {
+        pipeline.stop();
+        pipeline.dispose();
+    }
+
+}
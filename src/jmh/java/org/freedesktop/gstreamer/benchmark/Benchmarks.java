@@ -0,0 +1,54 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Gst;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Shared setup for the benchmarks.
+ * <p>
+ * GStreamer can only be initialized once per JVM, and JMH runs each
+ * benchmark in its own fork, so GStreamer is initialized on first use and
+ * never deinitialized.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    static synchronized void init() {
+        if (!Gst.isInitialized()) {
+            Gst.init(Gst.getVersion(), "Benchmarks");
+        }
+    }
+
+    /**
+     * Spin until the supplied counter reaches the target value. Used by the
+     * throughput benchmarks, where the work happens on a streaming or
+     * dispatch thread.
+     *
+     * @param counter counter to check
+     * @param target  value to wait for
+     */
+    static void awaitCount(LongSupplier counter, long target) {
+        while (counter.getAsLong() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.BufferList;
+import org.freedesktop.gstreamer.BufferPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer allocation, mapping and field access.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BufferBenchmark {
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private Buffer buffer;
+    private BufferPool pool;
+    private final long[] timing = new long[Buffer.TIMING_FIELDS];
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        buffer = new Buffer(size);
+        buffer.setPresentationTimestamp(1_000_000);
+        buffer.setDuration(40_000_000);
+        pool = new BufferPool();
+        pool.setParams(null, size, 2, 0);
+        pool.setActive(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.setActive(false);
+        pool.dispose();
+        buffer.dispose();
+    }
+
+    @Benchmark
+    public int mapUnmap() {
+        ByteBuffer data = buffer.map(false);
+        int b = data.get(0);
+        buffer.unmap();
+        return b;
+    }
+
+    @Benchmark
+    public int mapMemory() {
+        try (Buffer.Mapping mapping = buffer.mapMemory(0, false)) {
+            return mapping.getByteBuffer().get(0);
+        }
+    }
+
+    @Benchmark
+    public void timestampGetters(Blackhole bh) {
+        bh.consume(buffer.getPresentationTimestamp());
+        bh.consume(buffer.getDecodeTimestamp());
+        bh.consume(buffer.getDuration());
+        bh.consume(buffer.getOffset());
+        bh.consume(buffer.getOffsetEnd());
+    }
+
+    @Benchmark
+    public long[] timestampReadTiming() {
+        return buffer.readTimingInto(timing);
+    }
+
+    @Benchmark
+    public void timestampSetters() {
+        buffer.setPresentationTimestamp(2_000_000);
+        buffer.setDuration(40_000_000);
+    }
+
+    @Benchmark
+    public void allocateDispose() {
+        new Buffer(size).dispose();
+    }
+
+    @Benchmark
+    public void poolAcquireRelease() {
+        pool.acquireBuffer().dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public int bufferList() {
+        BufferList list = new BufferList(16);
+        for (int i = 0; i < 16; i++) {
+            list.add(new Buffer(size));
+        }
+        int count = list.size();
+        list.dispose();
+        return count;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Bus;
+import org.freedesktop.gstreamer.Pipeline;
+import org.freedesktop.gstreamer.message.BufferingMessage;
+import org.freedesktop.gstreamer.message.EOSMessage;
+import org.freedesktop.gstreamer.message.MessageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus message dispatch throughput, from posting to listener invocation on
+ * the dispatch executor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BusBenchmark {
+
+    private static final int BATCH = 256;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private Pipeline pipeline;
+    private Pipeline unobserved;
+    private Bus bus;
+    private final AtomicLong buffering = new AtomicLong();
+    private final AtomicLong eos = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        pipeline = new Pipeline("bus-benchmark");
+        bus = pipeline.getBus();
+        bus.connect((Bus.BUFFERING) (source, percent) -> buffering.incrementAndGet());
+        bus.connect((Bus.EOS) source -> eos.incrementAndGet());
+        bus.setCoalescing(MessageType.BUFFERING, coalescing);
+        unobserved = new Pipeline("bus-benchmark-unobserved");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.dispose();
+        unobserved.dispose();
+    }
+
+    /**
+     * Post a batch of messages, followed by an EOS marker, and wait for the
+     * marker to be dispatched. With coalescing enabled, most of the batch is
+     * expected to be dropped in favour of the latest message.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long dispatch() {
+        for (int i = 0; i < BATCH; i++) {
+            bus.post(new BufferingMessage(pipeline, i % 100));
+        }
+        long target = eos.get() + 1;
+        bus.post(new EOSMessage(pipeline));
+        Benchmarks.awaitCount(eos::get, target);
+        return buffering.get();
+    }
+
+    /**
+     * Post messages to a bus without listeners, which should be dropped
+     * without being queued for dispatch.
+     */
+    @Benchmark
+    public boolean postUnobserved() {
+        return unobserved.getBus().post(new BufferingMessage(unobserved, 50));
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.PipelineContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task throughput of the GMainContext executor, from submission on the
+ * benchmark thread to execution on the main loop thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutorBenchmark {
+
+    private static final int BATCH = 256;
+
+    private PipelineContext context;
+    private Executor executor;
+    private final AtomicLong executed = new AtomicLong();
+    private final Runnable task = executed::incrementAndGet;
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        context = new PipelineContext("executor-benchmark");
+        executor = context.getExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long execute() {
+        long target = executed.get() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            executor.execute(task);
+        }
+        Benchmarks.awaitCount(executed::get, target);
+        return target;
+    }
+
+}
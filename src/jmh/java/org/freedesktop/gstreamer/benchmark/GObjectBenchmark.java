@@ -0,0 +1,164 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Element;
+import org.freedesktop.gstreamer.ElementFactory;
+import org.freedesktop.gstreamer.Pipeline;
+import org.freedesktop.gstreamer.glib.NativeObject;
+import org.freedesktop.gstreamer.lowlevel.GType;
+import org.freedesktop.gstreamer.lowlevel.GstTypes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GObject property access, GType to class resolution, and the per-call
+ * overhead of the JNA bindings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GObjectBenchmark {
+
+    private Element element;
+    private GType pipelineType;
+    private Map<String, Object> properties;
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        element = ElementFactory.make("fakesink", "sink");
+        pipelineType = GstTypes.typeFor(Pipeline.class);
+        properties = new LinkedHashMap<>();
+        properties.put("sync", false);
+        properties.put("num-buffers", 10);
+        properties.put("max-lateness", 20_000_000L);
+        properties.put("qos", true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        element.dispose();
+    }
+
+    @Benchmark
+    public Object getBooleanProperty() {
+        return element.get("sync");
+    }
+
+    @Benchmark
+    public void setBooleanProperty() {
+        element.set("sync", false);
+    }
+
+    @Benchmark
+    public Object getStringProperty() {
+        return element.get("name");
+    }
+
+    @Benchmark
+    public void setIntProperty() {
+        element.set("num-buffers", 10);
+    }
+
+    @Benchmark
+    public boolean getBooleanTyped() {
+        return element.getBoolean("sync");
+    }
+
+    @Benchmark
+    public Object getLongProperty() {
+        return element.get("max-lateness");
+    }
+
+    @Benchmark
+    public long getLongTyped() {
+        return element.getLong("max-lateness");
+    }
+
+    @Benchmark
+    public void setIntTyped() {
+        element.setInt("num-buffers", 10);
+    }
+
+    /**
+     * Four properties one at a time, for comparison with setAllProperties.
+     */
+    @Benchmark
+    public void setPropertiesIndividually() {
+        properties.forEach(element::set);
+    }
+
+    @Benchmark
+    public void setAllProperties() {
+        element.setAll(properties);
+    }
+
+    /**
+     * Four properties one at a time, for comparison with getAllProperties.
+     */
+    @Benchmark
+    public void getPropertiesIndividually(Blackhole bh) {
+        for (String property : properties.keySet()) {
+            bh.consume(element.get(property));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> getAllProperties() {
+        return element.getAll("sync", "num-buffers", "max-lateness", "qos");
+    }
+
+    /**
+     * Signal emission by name, without connected handlers.
+     */
+    @Benchmark
+    public void emitSignal() {
+        element.emit("no-more-pads");
+    }
+
+    @Benchmark
+    public Class<? extends NativeObject> classForType() {
+        return GstTypes.classFor(pipelineType);
+    }
+
+    @Benchmark
+    public GType typeForClass() {
+        return GstTypes.typeFor(Pipeline.class);
+    }
+
+    /**
+     * A native call without argument conversion.
+     */
+    @Benchmark
+    public String nativeCall() {
+        return element.getName();
+    }
+
+    /**
+     * A native call with an enum array argument, converted by the custom
+     * invocation handler in GNative.
+     */
+    @Benchmark
+    public org.freedesktop.gstreamer.State nativeCallConvertedArray() {
+        return element.getState(0);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.glib.NativeScope;
+import org.freedesktop.gstreamer.glib.Natives;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wrapping native pointers, and the lifecycle cost of short-lived wrappers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NativeObjectBenchmark {
+
+    private static final int BATCH = 64;
+
+    private Buffer buffer;
+    private Pointer ptr;
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        buffer = new Buffer(16);
+        ptr = Natives.getRawPointer(buffer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.dispose();
+    }
+
+    @Benchmark
+    public Buffer objectForCached() {
+        return Natives.objectFor(ptr, Buffer.class, false, false);
+    }
+
+    @Benchmark
+    public Pointer unwrap() {
+        return Natives.getRawPointer(buffer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void wrapCleaner(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(new Buffer());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void wrapDispose(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            Buffer b = new Buffer();
+            bh.consume(b);
+            b.dispose();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void wrapNativeScope(Blackhole bh) {
+        try (NativeScope scope = NativeScope.open()) {
+            for (int i = 0; i < BATCH; i++) {
+                bh.consume(new Buffer());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.benchmark;
+
+import org.freedesktop.gstreamer.Fraction;
+import org.freedesktop.gstreamer.Structure;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structure field reads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StructureBenchmark {
+
+    private Structure structure;
+
+    @Setup
+    public void setup() {
+        Benchmarks.init();
+        structure = Structure.fromString("video/x-raw, format=(string)I420,"
+                + " width=(int)1920, height=(int)1080, framerate=(fraction)30/1,"
+                + " interlaced=(boolean)false");
+    }
+
+    @TearDown
+    public void tearDown() {
+        structure.dispose();
+    }
+
+    @Benchmark
+    public int getInteger() {
+        return structure.getInteger("width");
+    }
+
+    @Benchmark
+    public String getString() {
+        return structure.getString("format");
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return structure.getBoolean("interlaced");
+    }
+
+    @Benchmark
+    public Fraction getFraction() {
+        return structure.getFraction("framerate");
+    }
+
+    @Benchmark
+    public boolean hasField() {
+        return structure.hasField("height");
+    }
+
+    @Benchmark
+    public String getName() {
+        return structure.getName();
+    }
+
+}
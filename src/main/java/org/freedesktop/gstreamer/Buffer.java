@@ -22,20 +22,31 @@
  */
 package org.freedesktop.gstreamer;
 
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
 import org.freedesktop.gstreamer.glib.NativeFlags;
 import org.freedesktop.gstreamer.glib.Natives;
 import org.freedesktop.gstreamer.lowlevel.GType;
+import org.freedesktop.gstreamer.lowlevel.GlibAPI.GDestroyNotify;
 import org.freedesktop.gstreamer.lowlevel.GstBufferAPI;
-import org.freedesktop.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
 import org.freedesktop.gstreamer.lowlevel.GstBufferAPI.MapInfoStruct;
+import org.freedesktop.gstreamer.lowlevel.GstBufferPtr;
 import org.freedesktop.gstreamer.lowlevel.GstMetaPtr;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
 
 import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.freedesktop.gstreamer.lowlevel.GstBufferAPI.GSTBUFFER_API;
 
@@ -52,8 +63,13 @@ public class Buffer extends MiniObject {
 
     public static final String GTYPE_NAME = "GstBuffer";
 
+    /**
+     * The number of values written by {@link #readTimingInto(long[])}.
+     */
+    public static final int TIMING_FIELDS = GstBufferPtr.TIMING_FIELDS;
+
     private final MapInfoStruct mapInfo;
-    private final BufferStruct struct;
+    private final GstBufferPtr ptr;
 
     /**
      * Creates a newly allocated buffer without any data.
@@ -78,7 +94,48 @@ public class Buffer extends MiniObject {
     Buffer(Initializer init) {
         super(init);
         mapInfo = new MapInfoStruct();
-        struct = new BufferStruct(getRawPointer());
+        ptr = new GstBufferPtr(getRawPointer());
+    }
+
+    /**
+     * Creates a new Buffer that wraps the remaining content of the given
+     * direct {@link ByteBuffer} without copying.
+     * <p>
+     * The native memory of the ByteBuffer is used in place by GStreamer. A
+     * strong reference to the ByteBuffer is kept until the last reference to
+     * the native memory is dropped, at which point the optional release
+     * callback is called with the original ByteBuffer so that it can be
+     * returned to a pool. The release callback may be called on any thread,
+     * including a GStreamer streaming thread, and should not block.
+     * <p>
+     * The ByteBuffer content must not be modified by the caller while the
+     * Buffer is in use. Read-only ByteBuffers produce read-only memory.
+     *
+     * @param data      a direct ByteBuffer
+     * @param onRelease callback when the memory is released, or null
+     * @return a new Buffer wrapping the ByteBuffer memory
+     * @throws IllegalArgumentException if the ByteBuffer is not direct
+     */
+    public static Buffer wrap(ByteBuffer data, Consumer<ByteBuffer> onRelease) {
+        Objects.requireNonNull(data);
+        if (!data.isDirect()) {
+            throw new IllegalArgumentException("ByteBuffer must be direct");
+        }
+        Pointer base = Native.getDirectBufferPointer(data);
+        long id = WrappedMemory.register(data, onRelease);
+        Pointer ptr = GSTBUFFER_API.ptr_gst_buffer_new_wrapped_full(
+                data.isReadOnly() ? GstBufferAPI.GST_MEMORY_FLAG_READONLY : 0,
+                base,
+                new NativeLong(data.capacity()),
+                new NativeLong(data.position()),
+                new NativeLong(data.remaining()),
+                new Pointer(id),
+                WrappedMemory.NOTIFY);
+        if (ptr == null) {
+            WrappedMemory.REGISTRY.remove(id);
+            throw new IllegalStateException("Could not wrap ByteBuffer");
+        }
+        return new Buffer(Natives.initializer(ptr));
     }
 
     private static Pointer allocBuffer(int size) {
@@ -105,7 +162,7 @@ public class Buffer extends MiniObject {
      * @return A {@link java.nio.ByteBuffer} that can access this Buffer's data.
      */
     public ByteBuffer map(boolean writable) {
-        final boolean ok = GSTBUFFER_API.gst_buffer_map(this, mapInfo,
+        final boolean ok = NativeBackend.get().bufferMap(getRawPointer(), mapInfo,
                 writable ? GstBufferAPI.GST_MAP_WRITE : GstBufferAPI.GST_MAP_READ);
         if (ok && mapInfo.data != null) {
             return mapInfo.data.getByteBuffer(0, mapInfo.size.intValue());
@@ -117,7 +174,58 @@ public class Buffer extends MiniObject {
      * Release the memory previously mapped with {@link #map(boolean)}
      */
     public void unmap() {
-        GSTBUFFER_API.gst_buffer_unmap(this, mapInfo);
+        NativeBackend.get().bufferUnmap(getRawPointer(), mapInfo);
+    }
+
+    /**
+     * Map a single memory block of this Buffer, without merging it with any
+     * other memory blocks.
+     * <p>
+     * Unlike {@link #map(boolean)}, each call returns an independent
+     * {@link Mapping}, so several memory blocks may be mapped at the same
+     * time, eg. to read a multi-memory Buffer scatter-gather. <b>The mapping
+     * should be closed after use, before the Buffer is disposed.</b>
+     *
+     * @param index    the index of the memory block, less than
+     *                 {@link #getMemoryCount()}
+     * @param writable whether the memory should be mapped writable
+     * @return a Mapping of the memory block
+     * @throws IllegalStateException if the memory could not be mapped
+     */
+    public Mapping mapMemory(int index, boolean writable) {
+        return mapRange(index, 1, writable);
+    }
+
+    /**
+     * Map a range of memory blocks of this Buffer.
+     * <p>
+     * A length of -1 maps all memory blocks from index to the end of the
+     * Buffer. When more than one memory block is mapped, GStreamer merges them
+     * into a single contiguous block, which involves a copy - use
+     * {@link #mapMemory(int, boolean)} on each block to avoid this. <b>The
+     * mapping should be closed after use, before the Buffer is disposed.</b>
+     *
+     * @param index    the index of the first memory block
+     * @param length   the number of memory blocks to map, or -1 for all
+     *                 remaining
+     * @param writable whether the memory should be mapped writable
+     * @return a Mapping of the memory range
+     * @throws IllegalStateException if the memory could not be mapped
+     */
+    public Mapping mapRange(int index, int length, boolean writable) {
+        int count = getMemoryCount();
+        if (index < 0 || index >= count || length == 0 || length < -1
+                || (length > 0 && index + length > count)) {
+            throw new IndexOutOfBoundsException("Invalid memory range " + index
+                    + " length " + length + " in Buffer with " + count + " memory blocks");
+        }
+        MapInfoStruct info = new MapInfoStruct();
+        boolean ok = GSTBUFFER_API.gst_buffer_map_range(this, index, length, info,
+                writable ? GstBufferAPI.GST_MAP_WRITE : GstBufferAPI.GST_MAP_READ);
+        if (!ok) {
+            throw new IllegalStateException("Could not map Buffer memory");
+        }
+        return new Mapping(this, info);
     }
 
     /**
@@ -139,7 +247,7 @@ public class Buffer extends MiniObject {
      * when the timestamp is not known or relevant.
      */
     public long getDecodeTimestamp() {
-        return (long) this.struct.readField("dts");
+        return ptr.getDTS();
     }
 
     /**
@@ -149,7 +257,7 @@ public class Buffer extends MiniObject {
      *            {@link ClockTime#NONE} when the timestamp is not known or relevant.
      */
     public void setDecodeTimestamp(long val) {
-        this.struct.writeField("dts", val);
+        ptr.setDTS(val);
     }
 
     /**
@@ -161,7 +269,7 @@ public class Buffer extends MiniObject {
      * when the timestamp is not known or relevant.
      */
     public long getPresentationTimestamp() {
-        return (long) this.struct.readField("pts");
+        return ptr.getPTS();
     }
 
     /**
@@ -171,7 +279,7 @@ public class Buffer extends MiniObject {
      *            {@link ClockTime#NONE} when the timestamp is not known or relevant.
      */
     public void setPresentationTimestamp(long val) {
-        this.struct.writeField("pts", val);
+        ptr.setPTS(val);
     }
 
     /**
@@ -181,7 +289,7 @@ public class Buffer extends MiniObject {
      * when the timestamp is not known or relevant.
      */
     public long getDuration() {
-        return (long) this.struct.readField("duration");
+        return ptr.getDuration();
     }
 
     /**
@@ -191,7 +299,7 @@ public class Buffer extends MiniObject {
      *            {@link ClockTime#NONE} when the timestamp is not known or relevant.
      */
     public void setDuration(long val) {
-        this.struct.writeField("duration", val);
+        ptr.setDuration(val);
     }
 
     /**
@@ -203,7 +311,7 @@ public class Buffer extends MiniObject {
      * data this is the byte offset of the first byte in this buffer.
      */
     public long getOffset() {
-        return (Long) this.struct.readField("offset");
+        return ptr.getOffset();
     }
 
     /**
@@ -215,7 +323,7 @@ public class Buffer extends MiniObject {
      *            data this is the byte offset of the first byte in this buffer.
      */
     public void setOffset(long val) {
-        this.struct.writeField("offset", val);
+        ptr.setOffset(val);
     }
 
     /**
@@ -227,7 +335,7 @@ public class Buffer extends MiniObject {
      * data this is the byte offset of the first byte in this buffer.
      */
     public long getOffsetEnd() {
-        return (Long) this.struct.readField("offset_end");
+        return ptr.getOffsetEnd();
     }
 
     /**
@@ -239,7 +347,33 @@ public class Buffer extends MiniObject {
      *            data this is the byte offset of the first byte in this buffer.
      */
     public void setOffsetEnd(long val) {
-        this.struct.writeField("offset_end", val);
+        ptr.setOffsetEnd(val);
+    }
+
+    /**
+     * Read the timing and offset fields of this buffer into the provided
+     * array with a single native read. This is equivalent to calling each of
+     * the individual getters, without the overhead of multiple native reads.
+     * <p>
+     * Values are written in the order:
+     * <ol start="0">
+     * <li>presentation timestamp</li>
+     * <li>decode timestamp</li>
+     * <li>duration</li>
+     * <li>offset</li>
+     * <li>offset end</li>
+     * </ol>
+     *
+     * @param dst array of at least {@link #TIMING_FIELDS} length
+     * @return the provided array
+     * @throws IllegalArgumentException if the array is too short
+     */
+    public long[] readTimingInto(long[] dst) {
+        if (dst.length < TIMING_FIELDS) {
+            throw new IllegalArgumentException("Array length must be at least " + TIMING_FIELDS);
+        }
+        ptr.readTiming(dst);
+        return dst;
     }
 
     /**
@@ -351,6 +485,62 @@ public class Buffer extends MiniObject {
         return GstBufferAPI.GSTBUFFER_API.gst_buffer_unset_flags(this, NativeFlags.toInt(flags));
     }
 
+    /**
+     * A mapping of one or more memory blocks of a {@link Buffer}, created by
+     * {@link Buffer#mapMemory(int, boolean)} or
+     * {@link Buffer#mapRange(int, int, boolean)}. The memory is unmapped when
+     * the Mapping is closed, after which the ByteBuffer must not be used.
+     */
+    public static final class Mapping implements AutoCloseable {
+
+        private final Buffer buffer;
+        private final MapInfoStruct info;
+        private ByteBuffer data;
+
+        private Mapping(Buffer buffer, MapInfoStruct info) {
+            this.buffer = buffer;
+            this.info = info;
+        }
+
+        /**
+         * Get a {@link ByteBuffer} that can access the mapped memory.
+         *
+         * @return ByteBuffer of the mapped memory
+         * @throws IllegalStateException if the Mapping has been closed
+         */
+        public synchronized ByteBuffer getByteBuffer() {
+            if (info.data == null) {
+                throw new IllegalStateException("Mapping is closed");
+            }
+            if (data == null) {
+                data = info.data.getByteBuffer(0, info.size.longValue());
+            }
+            return data;
+        }
+
+        /**
+         * Get the size of the mapped memory in bytes.
+         *
+         * @return size in bytes
+         */
+        public long getSize() {
+            return info.size.longValue();
+        }
+
+        /**
+         * Unmap the memory. Calling this method more than once has no effect.
+         */
+        @Override
+        public synchronized void close() {
+            if (info.data != null) {
+                NativeBackend.get().bufferUnmap(Natives.getRawPointer(buffer), info);
+                info.data = null;
+                data = null;
+            }
+        }
+
+    }
+
     private static class MetaIterator implements Iterator<Meta> {
 
         private final PointerByReference state;
@@ -392,4 +582,52 @@ public class Buffer extends MiniObject {
 
     }
 
+    /**
+     * Keeps wrapped ByteBuffers reachable while native code uses their memory.
+     * The native user data is a key into the registry rather than a pointer
+     * to a Java object.
+     */
+    private static final class WrappedMemory {
+
+        private static final Logger LOG = Logger.getLogger(Buffer.class.getName());
+        private static final AtomicLong NEXT_ID = new AtomicLong(1);
+        private static final ConcurrentHashMap<Long, WrappedMemory> REGISTRY
+                = new ConcurrentHashMap<>();
+        private static final GDestroyNotify NOTIFY = WrappedMemory::release;
+
+        static {
+            Native.setCallbackThreadInitializer(NOTIFY,
+                    new CallbackThreadInitializer(true,
+                            Boolean.getBoolean("glib.detachCallbackThreads"),
+                            "GstBufferRelease"));
+        }
+
+        private final ByteBuffer data;
+        private final Consumer<ByteBuffer> onRelease;
+
+        private WrappedMemory(ByteBuffer data, Consumer<ByteBuffer> onRelease) {
+            this.data = data;
+            this.onRelease = onRelease;
+        }
+
+        private static long register(ByteBuffer data, Consumer<ByteBuffer> onRelease) {
+            long id = NEXT_ID.getAndIncrement();
+            REGISTRY.put(id, new WrappedMemory(data, onRelease));
+            return id;
+        }
+
+        private static void release(Pointer userData) {
+            WrappedMemory mem = REGISTRY.remove(Pointer.nativeValue(userData));
+            if (mem == null || mem.onRelease == null) {
+                return;
+            }
+            try {
+                mem.onRelease.accept(mem.data);
+            } catch (Throwable t) {
+                LOG.log(Level.SEVERE, "Exception thrown by buffer release callback", t);
+            }
+        }
+
+    }
+
 }
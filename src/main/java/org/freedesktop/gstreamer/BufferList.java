@@ -0,0 +1,140 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import org.freedesktop.gstreamer.glib.Natives;
+
+import static org.freedesktop.gstreamer.lowlevel.GstBufferListAPI.GSTBUFFERLIST_API;
+
+/**
+ * Buffer lists are an object containing a list of buffers.
+ * <p>
+ * See upstream documentation at
+ * <a href="https://gstreamer.freedesktop.org/data/doc/gstreamer/stable/gstreamer/html/GstBufferList.html"
+ * >https://gstreamer.freedesktop.org/data/doc/gstreamer/stable/gstreamer/html/GstBufferList.html</a>
+ * <p>
+ * Buffer lists are created with {@link #BufferList()} and filled with data
+ * using {@link #add(Buffer)}. They can be pushed with
+ * {@link Pad#pushList(BufferList)} or
+ * {@link org.freedesktop.gstreamer.elements.AppSrc#pushBufferList(BufferList)},
+ * passing many buffers downstream with a single native call.
+ */
+public class BufferList extends MiniObject {
+
+    public static final String GTYPE_NAME = "GstBufferList";
+
+    /**
+     * Creates a new, empty BufferList.
+     */
+    public BufferList() {
+        this(Natives.initializer(GSTBUFFERLIST_API.ptr_gst_buffer_list_new()));
+    }
+
+    /**
+     * Creates a new, empty BufferList with space preallocated for the given
+     * number of buffers.
+     *
+     * @param size the number of buffers to preallocate space for
+     */
+    public BufferList(int size) {
+        this(Natives.initializer(GSTBUFFERLIST_API.ptr_gst_buffer_list_new_sized(size)));
+    }
+
+    BufferList(Initializer init) {
+        super(init);
+    }
+
+    /**
+     * Returns the number of buffers in the list.
+     *
+     * @return the number of buffers
+     */
+    public int size() {
+        return GSTBUFFERLIST_API.gst_buffer_list_length(this);
+    }
+
+    /**
+     * Get the {@link Buffer} at the given index.
+     * <b>The buffer remains valid as long as the list is valid and the buffer
+     * is not removed from the list.</b>
+     *
+     * @param index the index of the buffer
+     * @return the Buffer at index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Buffer get(int index) {
+        checkIndex(index, size());
+        return GSTBUFFERLIST_API.gst_buffer_list_get(this, index);
+    }
+
+    /**
+     * Append a {@link Buffer} to the end of the list. The list takes ownership
+     * of the Buffer, which must not be used afterwards. The list must be
+     * writable.
+     *
+     * @param buffer the Buffer to add
+     */
+    public void add(Buffer buffer) {
+        GSTBUFFERLIST_API.gst_buffer_list_insert(this, -1, buffer);
+    }
+
+    /**
+     * Insert a {@link Buffer} at the given index. The list takes ownership of
+     * the Buffer, which must not be used afterwards. The list must be
+     * writable.
+     *
+     * @param index  the index to insert at
+     * @param buffer the Buffer to insert
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void insert(int index, Buffer buffer) {
+        checkIndex(index, size() + 1);
+        GSTBUFFERLIST_API.gst_buffer_list_insert(this, index, buffer);
+    }
+
+    /**
+     * Remove buffers from the list, starting at the given index. The list
+     * must be writable.
+     *
+     * @param index  the index of the first buffer to remove
+     * @param length the number of buffers to remove
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void remove(int index, int length) {
+        int size = size();
+        checkIndex(index, size);
+        if (length < 0 || index + length > size) {
+            throw new IndexOutOfBoundsException("Invalid length " + length);
+        }
+        GSTBUFFERLIST_API.gst_buffer_list_remove(this, index, length);
+    }
+
+    /**
+     * Create a copy of the list, including copies of all the buffers.
+     *
+     * @return a new BufferList
+     */
+    public BufferList copyDeep() {
+        return GSTBUFFERLIST_API.gst_buffer_list_copy_deep(this);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
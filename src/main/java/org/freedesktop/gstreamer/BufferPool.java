@@ -18,9 +18,20 @@
  */
 package org.freedesktop.gstreamer;
 
+import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.glib.GQuark;
 import org.freedesktop.gstreamer.glib.Natives;
 import org.freedesktop.gstreamer.lowlevel.GstBufferPoolAPI;
+import org.freedesktop.gstreamer.lowlevel.GstBufferPoolAPI.AcquireParamsStruct;
+import org.freedesktop.gstreamer.lowlevel.GstBufferPoolAPI.AllocationParamsStruct;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.freedesktop.gstreamer.lowlevel.GstBufferPoolAPI.GSTBUFFERPOOL_API;
+import static org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.GSTMINIOBJECT_API;
 
 /**
  * A BufferPool is an object that can be used to pre-allocate and recycle
@@ -29,16 +40,43 @@ import org.freedesktop.gstreamer.lowlevel.GstBufferPoolAPI;
  * See upstream documentation at
  * <a href="https://gstreamer.freedesktop.org/data/doc/gstreamer/stable/gstreamer/html/GstBufferPool.html"
  * >https://gstreamer.freedesktop.org/data/doc/gstreamer/stable/gstreamer/html/GstBufferPool.html</a>
+ * <p>
+ * A BufferPool must be configured, eg. with
+ * {@link #setParams(Caps, int, int, int)}, and activated with
+ * {@link #setActive(boolean)} before buffers can be acquired. Configuration
+ * can only be changed while the pool is inactive. Buffers acquired from the
+ * pool are returned to it when disposed, or explicitly with
+ * {@link #releaseBuffer(Buffer)}.
+ * <p>
+ * The pool keeps counters of buffers acquired through this object - hits
+ * where a previously allocated buffer was recycled, misses where the pool
+ * allocated a new buffer, and waits where the caller had to wait for a buffer
+ * to be returned to the pool because the maximum number of buffers was in use.
+ * Buffers are marked when first acquired through this object, and the
+ * buffers preallocated on activation count as hits. If buffers are also
+ * acquired from the same pool elsewhere, for example by an element, the split
+ * between hits and misses is approximate.
  */
 public class BufferPool extends GstObject {
 
     public static final String GTYPE_NAME = "GstBufferPool";
 
+    private static final long MIN_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Pointer ACQUIRED_MARK = Pointer.createConstant(1);
+    private static volatile GQuark acquiredQuark;
+
+    private final AtomicLong preallocated = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+
     /**
      * Creates a new instance of BufferPool
      */
     public BufferPool() {
-        this(Natives.initializer(GstBufferPoolAPI.GSTBUFFERPOOL_API.ptr_gst_buffer_pool_new()));
+        this(Natives.initializer(GSTBUFFERPOOL_API.ptr_gst_buffer_pool_new()));
     }
 
     /**
@@ -52,15 +90,35 @@ public class BufferPool extends GstObject {
 
     /**
      * Configure the BufferPool with the given parameters.
+     * <p>
+     * The configuration can only be changed while the pool is inactive.
      *
      * @param caps        the {@link Caps} for the buffers
      * @param size        the size of each buffer, not including prefix and padding
      * @param min_buffers the minimum amount of buffers to allocate
      * @param max_buffers the maximum amount of buffers to allocate or 0 for unlimited
+     * @see #trySetParams(Caps, int, int, int)
      */
     public void setParams(Caps caps, int size, int min_buffers, int max_buffers) {
-        Structure config = GstBufferPoolAPI.GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
-        GstBufferPoolAPI.GSTBUFFERPOOL_API.gst_buffer_pool_config_set_params(config, caps, size, min_buffers, max_buffers);
+        trySetParams(caps, size, min_buffers, max_buffers);
+    }
+
+    /**
+     * Configure the BufferPool with the given parameters, as
+     * {@link #setParams(Caps, int, int, int)}, returning whether the
+     * configuration was applied.
+     *
+     * @param caps        the {@link Caps} for the buffers
+     * @param size        the size of each buffer, not including prefix and padding
+     * @param min_buffers the minimum amount of buffers to allocate
+     * @param max_buffers the maximum amount of buffers to allocate or 0 for unlimited
+     * @return true if the configuration was applied, false if the pool is
+     * active or the configuration was rejected
+     */
+    public boolean trySetParams(Caps caps, int size, int min_buffers, int max_buffers) {
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        GSTBUFFERPOOL_API.gst_buffer_pool_config_set_params(config, caps, size, min_buffers, max_buffers);
+        return GSTBUFFERPOOL_API.gst_buffer_pool_set_config(this, config);
     }
 
     /**
@@ -69,10 +127,276 @@ public class BufferPool extends GstObject {
      * @return Caps configured on the BufferPool
      */
     public Caps getCaps() {
-        Structure config = GstBufferPoolAPI.GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
         Pointer[] ptr = new Pointer[1];
-        GstBufferPoolAPI.GSTBUFFERPOOL_API.gst_buffer_pool_config_get_params(config, ptr, null, null, null);
-        return new Caps(Natives.initializer(ptr[0], false, true));
+        GSTBUFFERPOOL_API.gst_buffer_pool_config_get_params(config, ptr, null, null, null);
+        Caps caps = ptr[0] == null ? null : new Caps(Natives.initializer(ptr[0], true, true));
+        config.dispose();
+        return caps;
+    }
+
+    /**
+     * Query the size of each buffer configured on the BufferPool.
+     *
+     * @return buffer size
+     */
+    public int getSize() {
+        return getParam(0);
+    }
+
+    /**
+     * Query the minimum amount of buffers configured on the BufferPool.
+     *
+     * @return minimum amount of buffers
+     */
+    public int getMinBuffers() {
+        return getParam(1);
+    }
+
+    /**
+     * Query the maximum amount of buffers configured on the BufferPool.
+     *
+     * @return maximum amount of buffers, or 0 for unlimited
+     */
+    public int getMaxBuffers() {
+        return getParam(2);
+    }
+
+    private int getParam(int index) {
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        int[][] params = {new int[1], new int[1], new int[1]};
+        GSTBUFFERPOOL_API.gst_buffer_pool_config_get_params(config, null,
+                params[0], params[1], params[2]);
+        config.dispose();
+        return params[index][0];
+    }
+
+    /**
+     * Configure the parameters used by the default allocator when the
+     * BufferPool allocates buffer memory.
+     * <p>
+     * The configuration can only be changed while the pool is inactive.
+     *
+     * @param align   the alignment of the memory as a bitmask, eg. 15 for
+     *                16-byte alignment
+     * @param prefix  the prefix bytes to allocate before the buffer data
+     * @param padding the padding bytes to allocate after the buffer data
+     * @return true if the configuration was applied
+     */
+    public boolean setAllocatorParams(long align, long prefix, long padding) {
+        AllocationParamsStruct params = new AllocationParamsStruct();
+        params.align = new NativeLong(align);
+        params.prefix = new NativeLong(prefix);
+        params.padding = new NativeLong(padding);
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        GSTBUFFERPOOL_API.gst_buffer_pool_config_set_allocator(config, null, params);
+        return GSTBUFFERPOOL_API.gst_buffer_pool_set_config(this, config);
+    }
+
+    /**
+     * Enable an option on the BufferPool configuration, such as
+     * "GstBufferPoolOptionVideoMeta". Supported options are specific to the
+     * BufferPool implementation.
+     * <p>
+     * The configuration can only be changed while the pool is inactive.
+     *
+     * @param option the option to enable
+     * @return true if the configuration was applied
+     */
+    public boolean addOption(String option) {
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        GSTBUFFERPOOL_API.gst_buffer_pool_config_add_option(config, option);
+        return GSTBUFFERPOOL_API.gst_buffer_pool_set_config(this, config);
+    }
+
+    /**
+     * Check whether an option is enabled on the BufferPool configuration.
+     *
+     * @param option the option to check
+     * @return true if the option is enabled
+     */
+    public boolean hasOption(String option) {
+        Structure config = GSTBUFFERPOOL_API.gst_buffer_pool_get_config(this);
+        boolean has = GSTBUFFERPOOL_API.gst_buffer_pool_config_has_option(config, option);
+        config.dispose();
+        return has;
+    }
+
+    /**
+     * Control the active state of the BufferPool. Activating the pool
+     * preallocates the configured minimum amount of buffers. Deactivating the
+     * pool frees all buffers once they have been returned to the pool.
+     *
+     * @param active the new active state
+     * @return true if the state was changed
+     */
+    public boolean setActive(boolean active) {
+        boolean wasActive = isActive();
+        boolean ok = GSTBUFFERPOOL_API.gst_buffer_pool_set_active(this, active);
+        if (ok && active != wasActive) {
+            // activation preallocates the minimum amount of buffers
+            preallocated.set(active ? getMinBuffers() : 0);
+        }
+        return ok;
+    }
+
+    /**
+     * Check if the BufferPool is active.
+     *
+     * @return true if active
+     */
+    public boolean isActive() {
+        return GSTBUFFERPOOL_API.gst_buffer_pool_is_active(this);
+    }
+
+    /**
+     * Enable or disable the flushing state of the BufferPool. While flushing,
+     * all blocked and future acquire calls return immediately without a
+     * buffer.
+     *
+     * @param flushing whether to start or stop flushing
+     */
+    public void setFlushing(boolean flushing) {
+        GSTBUFFERPOOL_API.gst_buffer_pool_set_flushing(this, flushing);
+    }
+
+    /**
+     * Acquire a {@link Buffer} from the BufferPool, blocking until a buffer is
+     * available if the maximum amount of buffers is in use.
+     *
+     * @return a Buffer, or null if the pool is inactive or flushing
+     */
+    public Buffer acquireBuffer() {
+        Buffer buffer = tryAcquire();
+        if (buffer == null && isActive()) {
+            waits.incrementAndGet();
+            buffer = acquire(GstBufferPoolAPI.GST_BUFFER_POOL_ACQUIRE_FLAG_NONE);
+        }
+        return buffer;
+    }
+
+    /**
+     * Acquire a {@link Buffer} from the BufferPool, waiting at most the given
+     * timeout for a buffer to be returned to the pool if the maximum amount of
+     * buffers is in use. A timeout of zero will not block.
+     * <p>
+     * GStreamer does not support timed acquisition, so while waiting the pool
+     * is polled with a short backoff.
+     *
+     * @param timeout the maximum amount of time to wait
+     * @param unit    the unit of the timeout
+     * @return a Buffer, or null if none is available before the timeout
+     * expires or the pool is inactive or flushing
+     */
+    public Buffer acquireBuffer(long timeout, TimeUnit unit) {
+        Buffer buffer = tryAcquire();
+        if (buffer != null || timeout <= 0) {
+            return buffer;
+        }
+        waits.incrementAndGet();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long backoff = MIN_WAIT_NANOS;
+        while (buffer == null && isActive()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2, MAX_WAIT_NANOS);
+            buffer = tryAcquire();
+        }
+        return buffer;
+    }
+
+    /**
+     * Acquire a {@link Buffer} from the BufferPool without blocking.
+     *
+     * @return a Buffer, or null if none is immediately available
+     */
+    public Buffer tryAcquireBuffer() {
+        return tryAcquire();
+    }
+
+    /**
+     * Release a {@link Buffer} back to the BufferPool. This is equivalent to
+     * disposing the Buffer, which also returns it to the pool it was acquired
+     * from. The Buffer must not be used after calling this method.
+     *
+     * @param buffer a Buffer previously acquired from this pool
+     */
+    public void releaseBuffer(Buffer buffer) {
+        GSTBUFFERPOOL_API.gst_buffer_pool_release_buffer(this, buffer);
+    }
+
+    /**
+     * Get the number of buffers acquired through this object that were
+     * recycled from the pool.
+     *
+     * @return hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of buffers acquired through this object that were newly
+     * allocated by the pool.
+     *
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of acquisitions through this object that had to wait for
+     * a buffer to be returned to the pool.
+     *
+     * @return wait count
+     */
+    public long getWaits() {
+        return waits.get();
+    }
+
+    private Buffer tryAcquire() {
+        return acquire(GstBufferPoolAPI.GST_BUFFER_POOL_ACQUIRE_FLAG_DONTWAIT);
+    }
+
+    private Buffer acquire(int flags) {
+        AcquireParamsStruct params = null;
+        if (flags != GstBufferPoolAPI.GST_BUFFER_POOL_ACQUIRE_FLAG_NONE) {
+            params = new AcquireParamsStruct();
+            params.flags = flags;
+        }
+        Pointer[] ptr = new Pointer[1];
+        FlowReturn ret = GSTBUFFERPOOL_API.gst_buffer_pool_acquire_buffer(this, ptr, params);
+        if (ret != FlowReturn.OK || ptr[0] == null) {
+            return null;
+        }
+        Buffer buffer = Natives.callerOwnsReturn(ptr[0], Buffer.class);
+        // qdata survives the buffer being recycled, but not freed by the pool
+        GQuark quark = acquiredQuark();
+        if (GSTMINIOBJECT_API.gst_mini_object_get_qdata(buffer, quark) != null) {
+            hits.incrementAndGet();
+        } else {
+            GSTMINIOBJECT_API.gst_mini_object_set_qdata(buffer, quark, ACQUIRED_MARK, null);
+            // the pool hands out its preallocated buffers before allocating
+            if (preallocated.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+        }
+        return buffer;
+    }
+
+    private static GQuark acquiredQuark() {
+        GQuark quark = acquiredQuark;
+        if (quark == null) {
+            quark = GQuark.valueOf("gst1-java-core-buffer-pool-acquired");
+            acquiredQuark = quark;
+        }
+        return quark;
     }
 
 }
@@ -28,6 +28,7 @@ import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.LongByReference;
 import com.sun.jna.ptr.PointerByReference;
 import org.freedesktop.gstreamer.glib.GObject;
+import org.freedesktop.gstreamer.glib.GQuark;
 import org.freedesktop.gstreamer.glib.NativeEnum;
 import org.freedesktop.gstreamer.glib.Natives;
 import org.freedesktop.gstreamer.lowlevel.GstAPI.GErrorStruct;
@@ -35,12 +36,29 @@ import org.freedesktop.gstreamer.lowlevel.GstBusAPI;
 import org.freedesktop.gstreamer.lowlevel.GstBusAPI.BusCallback;
 import org.freedesktop.gstreamer.lowlevel.GstBusPtr;
 import org.freedesktop.gstreamer.lowlevel.GstMessagePtr;
+import org.freedesktop.gstreamer.lowlevel.GstObjectPtr;
 import org.freedesktop.gstreamer.message.Message;
 import org.freedesktop.gstreamer.message.MessageType;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,6 +66,7 @@ import static org.freedesktop.gstreamer.lowlevel.GlibAPI.GLIB_API;
 import static org.freedesktop.gstreamer.lowlevel.GstBusAPI.GSTBUS_API;
 import static org.freedesktop.gstreamer.lowlevel.GstMessageAPI.GSTMESSAGE_API;
 import static org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.GSTMINIOBJECT_API;
+import static org.freedesktop.gstreamer.lowlevel.GstStructureAPI.GSTSTRUCTURE_API;
 
 /**
  * The {@link Bus} is an object responsible for delivering {@link Message}s in a
@@ -70,6 +89,14 @@ import static org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.GSTMINIOBJECT_
  * <p>
  * Every {@link Pipeline} has one bus.
  * <p>
+ * Messages are delivered to listeners in order, one at a time, using the
+ * {@link Gst#getDispatchExecutor() Gst dispatch executor} by default. A
+ * different executor can be set for each Bus with
+ * {@link #setDispatchExecutor(Executor)}. Message
+ * order within a Bus is preserved whatever the executor, so a thread pool can
+ * be shared by many buses, allowing them to be dispatched in parallel without
+ * a slow listener on one Bus delaying delivery on the others.
+ * <p>
  * Note that a Pipeline will set its bus into flushing state when changing from
  * READY to NULL state.
  */
@@ -79,9 +106,22 @@ public class Bus extends GstObject {
 
     private static final Logger LOG = Logger.getLogger(Bus.class.getName());
     private static final SyncCallback SYNC_CALLBACK = new SyncCallback();
+    private static final int MAX_DISPATCH_BATCH = 64;
     private final Object lock = new Object();
     private final List<MessageProxy<?>> messageProxies = new CopyOnWriteArrayList<>();
+    private volatile DispatchTable dispatchTable = DispatchTable.EMPTY;
     private volatile BusSyncHandler syncHandler = null;
+    private volatile Executor dispatchExecutor = null;
+    // queued GstMessagePtr, or Coalesced - skipped if no longer the latest in pendingCoalesced
+    private final ConcurrentLinkedQueue<Object> dispatchQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger dispatchQueueSize = new AtomicInteger();
+    // queued entries of replaced coalesced messages, included in dispatchQueueSize
+    private final AtomicInteger staleQueueEntries = new AtomicInteger();
+    private final ConcurrentHashMap<CoalesceKey, Coalesced> pendingCoalesced = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+    private volatile Set<MessageType> coalescedTypes = EnumSet.noneOf(MessageType.class);
+    private volatile int[] coalescedNames = new int[0];
+    private final ConcurrentLinkedQueue<MessageWaiter> waiters = new ConcurrentLinkedQueue<>();
     private boolean watchAdded = false;
 
     /**
@@ -481,6 +521,169 @@ public class Bus extends GstObject {
         return syncHandler;
     }
 
+    /**
+     * Set the executor used to deliver messages to listeners on this Bus, or
+     * null to use the {@link Gst#getDispatchExecutor() Gst dispatch executor}.
+     * <p>
+     * Messages are always delivered in order and never concurrently, even if
+     * the executor uses multiple threads. Each scheduled task delivers a
+     * limited batch of messages before rescheduling itself, so buses sharing
+     * an executor are dispatched fairly.
+     *
+     * @param executor dispatch executor, or null for the default
+     */
+    public void setDispatchExecutor(Executor executor) {
+        dispatchExecutor = executor;
+    }
+
+    /**
+     * Get the executor used to deliver messages to listeners on this Bus.
+     *
+     * @return dispatch executor, or null if the default is in use
+     */
+    public Executor getDispatchExecutor() {
+        return dispatchExecutor;
+    }
+
+    /**
+     * Get the number of messages waiting to be delivered to listeners on this
+     * Bus, including any message currently being delivered.
+     *
+     * @return queued message count
+     */
+    public int getDispatchQueueSize() {
+        return Math.max(0, dispatchQueueSize.get() - staleQueueEntries.get());
+    }
+
+    /**
+     * Enable or disable coalescing of messages of the given type.
+     * <p>
+     * When coalescing is enabled, only the latest message of this type from
+     * each source is kept while waiting for delivery to listeners. Older
+     * pending messages are discarded before they reach any listener, and
+     * counted in {@link #getCoalescedCount()}. The latest message keeps its
+     * own position in the queue, so messages are still delivered in the
+     * order they were posted. This is useful for high
+     * frequency messages such as {@link MessageType#BUFFERING} or
+     * {@link MessageType#QOS} where only the most recent value matters.
+     * <p>
+     * Coalescing is disabled by default.
+     *
+     * @param type     message type
+     * @param coalesce true to coalesce messages of this type
+     */
+    public synchronized void setCoalescing(MessageType type, boolean coalesce) {
+        Objects.requireNonNull(type, "type");
+        EnumSet<MessageType> types = EnumSet.noneOf(MessageType.class);
+        types.addAll(coalescedTypes);
+        if (coalesce) {
+            types.add(type);
+        } else {
+            types.remove(type);
+        }
+        coalescedTypes = types;
+    }
+
+    /**
+     * Enable or disable coalescing of messages carrying a structure with the
+     * given name, such as the ELEMENT messages posted by level or spectrum
+     * elements.
+     * <p>
+     * Messages are coalesced per source, type and structure name. See
+     * {@link #setCoalescing(MessageType, boolean)}.
+     *
+     * @param structureName name of the message structure
+     * @param coalesce      true to coalesce messages with this structure name
+     */
+    public synchronized void setCoalescing(String structureName, boolean coalesce) {
+        int quark = GQuark.valueOf(structureName).intValue();
+        int[] names = coalescedNames;
+        int index = -1;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == quark) {
+                index = i;
+                break;
+            }
+        }
+        if (coalesce && index < 0) {
+            names = Arrays.copyOf(names, names.length + 1);
+            names[names.length - 1] = quark;
+        } else if (!coalesce && index >= 0) {
+            int[] updated = new int[names.length - 1];
+            System.arraycopy(names, 0, updated, 0, index);
+            System.arraycopy(names, index + 1, updated, index, updated.length - index);
+            names = updated;
+        } else {
+            return;
+        }
+        coalescedNames = names;
+    }
+
+    /**
+     * Get the number of messages that have been discarded on this Bus because
+     * a newer message replaced them before delivery.
+     *
+     * @return coalesced message count
+     * @see #setCoalescing(MessageType, boolean)
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Wait asynchronously for the next message of one of the given types to be
+     * posted on this Bus.
+     * <p>
+     * No thread is blocked while waiting. The returned future is completed
+     * from the dispatch executor (see {@link #setDispatchExecutor(Executor)})
+     * in order with delivery to listeners, so dependent stages that are not
+     * explicitly async will run on that executor. Messages posted before this
+     * method is called are only considered if they are still queued for
+     * delivery to listeners. Use {@link MessageType#ANY} to match any message.
+     * <p>
+     * If the timeout elapses first the future completes exceptionally with a
+     * {@link java.util.concurrent.TimeoutException}. Cancelling or otherwise
+     * completing the future stops the wait.
+     *
+     * @param types   message types to wait for
+     * @param timeout maximum time to wait, or null to wait indefinitely
+     * @return future completed with the first matching message
+     */
+    public CompletableFuture<Message> awaitMessage(Set<MessageType> types, Duration timeout) {
+        return awaitMessage(types, null, timeout);
+    }
+
+    /**
+     * Wait asynchronously for the next message of one of the given types to be
+     * posted on this Bus that is accepted by the filter.
+     * <p>
+     * As {@link #awaitMessage(Set, Duration)}. The filter is called on the
+     * dispatch executor for each message of a matching type until one is
+     * accepted. If the filter throws an exception the future completes
+     * exceptionally with it.
+     *
+     * @param types   message types to wait for
+     * @param filter  message filter, or null to accept all messages of the
+     *                given types
+     * @param timeout maximum time to wait, or null to wait indefinitely
+     * @return future completed with the first matching message
+     */
+    public CompletableFuture<Message> awaitMessage(Set<MessageType> types,
+                                                   Predicate<? super Message> filter,
+                                                   Duration timeout) {
+        Objects.requireNonNull(types, "types");
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("No message types to wait for");
+        }
+        MessageWaiter waiter = new MessageWaiter(EnumSet.copyOf(types), filter);
+        waiters.add(waiter);
+        waiter.future.whenComplete((msg, ex) -> waiters.remove(waiter));
+        if (timeout != null) {
+            waiter.future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return waiter.future;
+    }
+
     /**
      * Connects to a signal.
      * <p>
@@ -534,6 +737,7 @@ public class Bus extends GstObject {
                                                   T listener,
                                                   BusCallback callback) {
         messageProxies.add(new MessageProxy<>(type, listenerClass, listener, callback));
+        dispatchTable = new DispatchTable(messageProxies);
         addWatch();
     }
 
@@ -548,11 +752,130 @@ public class Bus extends GstObject {
 
     private synchronized <T> void removeMessageProxy(Class<T> listenerClass, T listener) {
         messageProxies.removeIf(p -> p.listener == listener);
+        dispatchTable = new DispatchTable(messageProxies);
         if (messageProxies.isEmpty()) {
             removeWatch();
         }
     }
 
+    private void queueMessage(GstBusPtr busPtr, GstMessagePtr msgPtr) {
+        int type = msgPtr.getMessageType();
+        if (dispatchTable.get(type).length == 0 && !isAwaited(type)) {
+            // no listeners or waiters for this message type - drop without dispatch
+            GSTMINIOBJECT_API.gst_mini_object_unref(msgPtr);
+            return;
+        }
+        CoalesceKey key = coalesceKey(msgPtr, type);
+        if (key != null) {
+            Coalesced latest = new Coalesced(key, msgPtr);
+            Coalesced previous = pendingCoalesced.put(key, latest);
+            if (previous != null) {
+                // still waiting for dispatch - its queue entry will be skipped,
+                // and the latest message is dispatched in arrival order
+                GSTMINIOBJECT_API.gst_mini_object_unref(previous.msgPtr);
+                staleQueueEntries.incrementAndGet();
+                coalescedCount.increment();
+            }
+            dispatchQueue.offer(latest);
+        } else {
+            dispatchQueue.offer(msgPtr);
+        }
+        if (dispatchQueueSize.getAndIncrement() == 0) {
+            scheduleDispatch(busPtr);
+        }
+    }
+
+    private CoalesceKey coalesceKey(GstMessagePtr msgPtr, int nativeType) {
+        int[] names = coalescedNames;
+        int name = 0;
+        if (names.length > 0) {
+            Pointer structure = GSTMESSAGE_API.ptr_gst_message_get_structure(msgPtr);
+            if (structure != null) {
+                int quark = GSTSTRUCTURE_API.gst_structure_get_name_id(structure).intValue();
+                for (int n : names) {
+                    if (n == quark) {
+                        name = quark;
+                        break;
+                    }
+                }
+            }
+        }
+        if (name == 0 && !coalescedTypes.contains(DispatchTable.lookup(nativeType))) {
+            return null;
+        }
+        GstObjectPtr source = msgPtr.getSource();
+        return new CoalesceKey(source == null ? 0 : Pointer.nativeValue(source.getPointer()),
+                nativeType, name);
+    }
+
+    private GstMessagePtr takeQueued() {
+        Object queued = dispatchQueue.poll();
+        if (queued instanceof Coalesced coalesced) {
+            if (pendingCoalesced.remove(coalesced.key, coalesced)) {
+                return coalesced.msgPtr;
+            }
+            staleQueueEntries.decrementAndGet();
+            return null;
+        }
+        return (GstMessagePtr) queued;
+    }
+
+    private boolean isAwaited(int nativeType) {
+        if (waiters.isEmpty()) {
+            return false;
+        }
+        MessageType type = DispatchTable.lookup(nativeType);
+        for (MessageWaiter waiter : waiters) {
+            if (waiter.matches(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleDispatch(GstBusPtr busPtr) {
+        Executor executor = dispatchExecutor;
+        if (executor == null) {
+            executor = Gst.getDispatchExecutor();
+        }
+        if (executor == null) {
+            // Gst.deinit() has been called
+            LOG.log(Level.WARNING, "Bus dispatch after deinit, discarding queued messages");
+            discardQueue();
+            return;
+        }
+        try {
+            executor.execute(() -> drainQueue(busPtr));
+        } catch (RejectedExecutionException ex) {
+            LOG.log(Level.WARNING, "Bus dispatch rejected, discarding queued messages", ex);
+            discardQueue();
+        }
+    }
+
+    private void discardQueue() {
+        do {
+            GstMessagePtr msgPtr = takeQueued();
+            if (msgPtr != null) {
+                GSTMINIOBJECT_API.gst_mini_object_unref(msgPtr);
+            }
+        } while (dispatchQueueSize.decrementAndGet() > 0);
+    }
+
+    private void drainQueue(GstBusPtr busPtr) {
+        int remaining;
+        int dispatched = 0;
+        do {
+            GstMessagePtr msgPtr = takeQueued();
+            if (msgPtr != null) {
+                dispatchMessage(busPtr, msgPtr);
+            }
+            remaining = dispatchQueueSize.decrementAndGet();
+        } while (remaining > 0 && ++dispatched < MAX_DISPATCH_BATCH);
+        if (remaining > 0) {
+            scheduleDispatch(busPtr);
+        }
+    }
+
     /**
      * Dispatches a message to all interested listeners.
      * <p>
@@ -562,13 +885,26 @@ public class Bus extends GstObject {
      * those notifications, and the messages just queue up.
      */
     private void dispatchMessage(GstBusPtr busPtr, GstMessagePtr msgPtr) {
-        messageProxies.forEach(p -> {
+        int nativeType = msgPtr.getMessageType();
+        for (MessageProxy<?> p : dispatchTable.get(nativeType)) {
             try {
                 p.busMessage(busPtr, msgPtr);
             } catch (Throwable t) {
                 LOG.log(Level.SEVERE, "Exception thrown by bus message handler", t);
             }
-        });
+        }
+        if (!waiters.isEmpty()) {
+            MessageType type = DispatchTable.lookup(nativeType);
+            Message msg = null;
+            for (MessageWaiter waiter : waiters) {
+                if (waiter.matches(type)) {
+                    if (msg == null) {
+                        msg = Natives.objectFor(msgPtr, Message.class, true, true);
+                    }
+                    waiter.offer(msg);
+                }
+            }
+        }
         GSTMINIOBJECT_API.gst_mini_object_unref(msgPtr);
     }
 
@@ -855,10 +1191,122 @@ public class Bus extends GstObject {
     private record MessageProxy<T>(MessageType type, Class<T> listenerClass, Object listener, BusCallback callback) {
 
         void busMessage(final GstBusPtr bus, final GstMessagePtr msg) {
-            if (type == MessageType.ANY || type.intValue() == msg.getMessageType()) {
-                callback.callback(bus, msg, null);
+            callback.callback(bus, msg, null);
+        }
+    }
+
+    /**
+     * Immutable snapshot of message proxies indexed by {@link MessageType},
+     * rebuilt whenever a listener is added or removed. Each entry holds the
+     * proxies for that type and for {@link MessageType#ANY}, in the order they
+     * were added.
+     */
+    private static final class DispatchTable {
+
+        private static final MessageType[] SINGLE_BIT_TYPES = new MessageType[32];
+        private static final MessageType[] EXTENDED_TYPES;
+
+        static {
+            int extended = MessageType.EXTENDED.intValue();
+            List<MessageType> ext = new ArrayList<>();
+            for (MessageType t : MessageType.values()) {
+                int v = t.intValue();
+                if (t == MessageType.ANY || v == 0) {
+                    continue;
+                }
+                if (Integer.bitCount(v) == 1) {
+                    SINGLE_BIT_TYPES[Integer.numberOfTrailingZeros(v)] = t;
+                } else if ((v & extended) != 0) {
+                    int index = v - extended;
+                    while (ext.size() <= index) {
+                        ext.add(null);
+                    }
+                    ext.set(index, t);
+                }
+            }
+            EXTENDED_TYPES = ext.toArray(new MessageType[0]);
+        }
+
+        private static final DispatchTable EMPTY = new DispatchTable(List.of());
+
+        private final EnumMap<MessageType, MessageProxy<?>[]> byType;
+        private final MessageProxy<?>[] anyOnly;
+
+        private DispatchTable(List<MessageProxy<?>> proxies) {
+            byType = new EnumMap<>(MessageType.class);
+            anyOnly = proxies.stream()
+                    .filter(p -> p.type() == MessageType.ANY)
+                    .toArray(MessageProxy<?>[]::new);
+            for (MessageProxy<?> proxy : proxies) {
+                MessageType type = proxy.type();
+                if (type != MessageType.ANY && !byType.containsKey(type)) {
+                    byType.put(type, proxies.stream()
+                            .filter(p -> p.type() == type || p.type() == MessageType.ANY)
+                            .toArray(MessageProxy<?>[]::new));
+                }
             }
         }
+
+        private MessageProxy<?>[] get(int nativeType) {
+            MessageType type = lookup(nativeType);
+            MessageProxy<?>[] proxies = type == null ? null : byType.get(type);
+            return proxies != null ? proxies : anyOnly;
+        }
+
+        private static MessageType lookup(int nativeType) {
+            if (Integer.bitCount(nativeType) == 1) {
+                return SINGLE_BIT_TYPES[Integer.numberOfTrailingZeros(nativeType)];
+            }
+            int index = nativeType - MessageType.EXTENDED.intValue();
+            if ((nativeType & MessageType.EXTENDED.intValue()) != 0
+                    && index > 0 && index < EXTENDED_TYPES.length) {
+                return EXTENDED_TYPES[index];
+            }
+            return null;
+        }
+
+    }
+
+    private record CoalesceKey(long source, int type, int name) {
+    }
+
+    // compared by identity - a replaced entry must not match its successor
+    private static final class Coalesced {
+
+        private final CoalesceKey key;
+        private final GstMessagePtr msgPtr;
+
+        private Coalesced(CoalesceKey key, GstMessagePtr msgPtr) {
+            this.key = key;
+            this.msgPtr = msgPtr;
+        }
+    }
+
+    private static final class MessageWaiter {
+
+        private final EnumSet<MessageType> types;
+        private final Predicate<? super Message> filter;
+        private final CompletableFuture<Message> future = new CompletableFuture<>();
+
+        private MessageWaiter(EnumSet<MessageType> types, Predicate<? super Message> filter) {
+            this.types = types;
+            this.filter = filter;
+        }
+
+        private boolean matches(MessageType type) {
+            return types.contains(MessageType.ANY) || types.contains(type);
+        }
+
+        private void offer(Message msg) {
+            try {
+                if (filter == null || filter.test(msg)) {
+                    future.complete(msg);
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
     }
 
     private static class SyncCallback implements GstBusAPI.BusSyncHandler {
@@ -876,16 +1324,18 @@ public class Bus extends GstObject {
             // volatile - use local reference
             BusSyncHandler syncHandler = bus.syncHandler;
             if (syncHandler != null) {
-                Message msg = Natives.objectFor(msgPtr, Message.class, true, true);
+                // not tracked by any scope open on this streaming thread, as the
+                // message is also dispatched on the bus threads
+                Message msg = Natives.unscoped(() -> Natives.objectFor(msgPtr, Message.class, true, true));
                 BusSyncReply reply = syncHandler.syncMessage(msg);
                 if (reply != BusSyncReply.DROP) {
-                    Gst.getExecutor().execute(() -> bus.dispatchMessage(busPtr, msgPtr));
+                    bus.queueMessage(busPtr, msgPtr);
                 } else {
                     // not calling dispatch message so unref here
                     GSTMINIOBJECT_API.gst_mini_object_unref(msgPtr);
                 }
             } else {
-                Gst.getExecutor().execute(() -> bus.dispatchMessage(busPtr, msgPtr));
+                bus.queueMessage(busPtr, msgPtr);
             }
             return BusSyncReply.DROP;
         }
@@ -65,6 +65,9 @@ public final class Gst {
     private final static boolean DISABLE_EXTERNAL = Boolean.getBoolean("gstreamer.disableExternalTypes");
 
     private static ScheduledExecutorService executorService;
+    private static boolean ownsExecutor;
+    private static Executor dispatchExecutor;
+    private static ExecutorService ownedDispatchExecutor;
     private static volatile CountDownLatch quit = new CountDownLatch(1);
     private static GMainContext mainContext;
     private static boolean useDefaultContext = false;
@@ -192,6 +195,18 @@ public final class Gst {
         return executorService;
     }
 
+    /**
+     * Gets the {@link Executor} used by default to deliver {@link Bus}
+     * messages to listeners. This is the {@link #getExecutor() Gst executor}
+     * unless a dispatch executor was configured in {@link Config}.
+     *
+     * @return executor used for listener dispatch
+     * @see Bus#setDispatchExecutor(Executor)
+     */
+    public static Executor getDispatchExecutor() {
+        return dispatchExecutor;
+    }
+
     /**
      * Signals the thread that called {@link #init} to return.
      */
@@ -461,6 +476,26 @@ public final class Gst {
      */
     public static synchronized String[] init(Version requestedVersion,
                                              String progname, String... args) throws GstException {
+        return init(null, requestedVersion, progname, args);
+    }
+
+    /**
+     * Initializes the GStreamer library with the given configuration.
+     * <p>
+     * This sets up internal path lists, registers built-in elements, and loads
+     * standard plugins. The configuration is only used the first time through,
+     * when GStreamer is not already initialized.
+     *
+     * @param config           executor configuration, or null for the default
+     * @param requestedVersion the minimum requested GStreamer version.
+     * @param progname         the java program name.
+     * @param args             the java argument list.
+     * @return the array of arguments with any gstreamer specific options
+     * stripped out.
+     * @throws org.freedesktop.gstreamer.GstException which you should check for init errors
+     */
+    public static synchronized String[] init(Config config, Version requestedVersion,
+                                             String progname, String... args) throws GstException {
 
         if (CHECK_VERSIONS) {
             Version availableVersion = getVersion();
@@ -504,12 +539,33 @@ public final class Gst {
             LOG.warning("gst1-java-core only supports GStreamer 1.x");
         }
 
-        if (useDefaultContext) {
-            mainContext = GMainContext.getDefaultContext();
+        if (config == null) {
+            config = Config.builder().build();
+        }
+        mainContext = config.useDefaultContext
+                ? GMainContext.getDefaultContext()
+                : new GMainContext();
+        if (config.executor != null) {
+            executorService = config.executor;
+            ownsExecutor = false;
+        } else if (config.useDefaultContext) {
             executorService = new MainContextExecutorService(mainContext);
+            ownsExecutor = true;
+        } else {
+            executorService = Executors.newSingleThreadScheduledExecutor(
+                    config.threadFactory != null ? config.threadFactory : threadFactory);
+            ownsExecutor = true;
+        }
+        if (config.dispatchExecutor != null) {
+            dispatchExecutor = config.dispatchExecutor;
+        } else if (config.dispatchThreadFactory != null) {
+            ownedDispatchExecutor = Executors.newCachedThreadPool(config.dispatchThreadFactory);
+            dispatchExecutor = ownedDispatchExecutor;
+        } else if (config.virtualThreadDispatch) {
+            ownedDispatchExecutor = newVirtualThreadPerTaskExecutor();
+            dispatchExecutor = ownedDispatchExecutor;
         } else {
-            mainContext = new GMainContext();
-            executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            dispatchExecutor = executorService;
         }
         quit = new CountDownLatch(1);
         loadAllClasses();
@@ -546,19 +602,30 @@ public final class Gst {
         }
 
         // Stop any more tasks/timers from being scheduled
-        executorService.shutdown();
+        if (ownsExecutor) {
+            executorService.shutdown();
+        }
+        if (ownedDispatchExecutor != null) {
+            ownedDispatchExecutor.shutdown();
+        }
 
         // Wake up the run thread.
         quit();
 
         // Wait for tasks to complete.
         try {
-            if (!executorService.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+            if (ownsExecutor && !executorService.awaitTermination(100, TimeUnit.MILLISECONDS)) {
                 // Force-kill everything
                 executorService.shutdownNow();
             }
+            if (ownedDispatchExecutor != null
+                    && !ownedDispatchExecutor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                ownedDispatchExecutor.shutdownNow();
+            }
         } catch (InterruptedException ex) {
         }
+        ownedDispatchExecutor = null;
+        dispatchExecutor = null;
 
         mainContext = null;
         System.gc(); // Make sure any dangling objects are unreffed before calling deinit().
@@ -634,6 +701,17 @@ public final class Gst {
         }
     };
 
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // compiled against Java 17 - look up the Java 21 factory reflectively
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new UnsupportedOperationException("Virtual threads are not supported", ex);
+        }
+    }
+
     private static synchronized void loadAllClasses() {
         Stream.of(new GLib.Types(),
                 new Types(),
@@ -665,6 +743,7 @@ public final class Gst {
             return Stream.of(
                     registration(Bin.class, Bin.GTYPE_NAME, Bin::new),
                     registration(Buffer.class, Buffer.GTYPE_NAME, Buffer::new),
+                    registration(BufferList.class, BufferList.GTYPE_NAME, BufferList::new),
                     registration(BufferPool.class, BufferPool.GTYPE_NAME, BufferPool::new),
                     registration(Bus.class, Bus.GTYPE_NAME, Bus::new),
                     registration(Caps.class, Caps.GTYPE_NAME, Caps::new),
@@ -690,6 +769,173 @@ public final class Gst {
 
     }
 
+    /**
+     * Executor configuration passed to
+     * {@link #init(Config, Version, String, String...)}.
+     * <p>
+     * By default background tasks and timers run on a single daemon thread,
+     * or on the glib default main context if {@link #setUseDefaultContext(boolean)}
+     * is set, and Bus messages are dispatched to listeners on the same
+     * executor. A separate dispatch executor allows listeners that block, for
+     * example on I/O, to do so without delaying other listeners or timers.
+     * Native callbacks are always received on platform threads; only the
+     * delivery to Java listeners moves to the dispatch executor.
+     */
+    public static final class Config {
+
+        private final ScheduledExecutorService executor;
+        private final ThreadFactory threadFactory;
+        private final Executor dispatchExecutor;
+        private final ThreadFactory dispatchThreadFactory;
+        private final boolean virtualThreadDispatch;
+        private final boolean useDefaultContext;
+
+        private Config(Builder builder) {
+            this.executor = builder.executor;
+            this.threadFactory = builder.threadFactory;
+            this.dispatchExecutor = builder.dispatchExecutor;
+            this.dispatchThreadFactory = builder.dispatchThreadFactory;
+            this.virtualThreadDispatch = builder.virtualThreadDispatch;
+            this.useDefaultContext = builder.useDefaultContext;
+        }
+
+        /**
+         * Create a builder for a Config. The builder is initialized to use
+         * the glib default main context if
+         * {@link Gst#setUseDefaultContext(boolean)} has been set.
+         *
+         * @return config builder
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Test whether virtual thread dispatch is supported by the running
+         * Java version (21 or later).
+         *
+         * @return true if virtual threads are available
+         */
+        public static boolean isVirtualThreadDispatchSupported() {
+            return Runtime.version().feature() >= 21;
+        }
+
+        /**
+         * Builder for {@link Config}.
+         */
+        public static final class Builder {
+
+            private ScheduledExecutorService executor;
+            private ThreadFactory threadFactory;
+            private Executor dispatchExecutor;
+            private ThreadFactory dispatchThreadFactory;
+            private boolean virtualThreadDispatch;
+            private boolean useDefaultContext;
+
+            private Builder() {
+                this.useDefaultContext = Gst.useDefaultContext;
+            }
+
+            /**
+             * Use the given executor for background tasks and timers instead
+             * of creating one. The executor is not shut down by
+             * {@link Gst#deinit()}.
+             *
+             * @param executor executor to use, or null for the default
+             * @return this builder
+             */
+            public Builder executor(ScheduledExecutorService executor) {
+                this.executor = executor;
+                return this;
+            }
+
+            /**
+             * Use the given thread factory to create the default background
+             * executor thread. Ignored if an executor is provided or the
+             * default main context is used.
+             *
+             * @param threadFactory thread factory, or null for the default
+             * @return this builder
+             */
+            public Builder threadFactory(ThreadFactory threadFactory) {
+                this.threadFactory = threadFactory;
+                return this;
+            }
+
+            /**
+             * Use the given executor to dispatch Bus messages to listeners.
+             * Message order on each Bus is preserved whatever the executor.
+             *
+             * @param dispatchExecutor dispatch executor, or null to dispatch
+             *                         on the background executor
+             * @return this builder
+             * @see Bus#setDispatchExecutor(Executor)
+             */
+            public Builder dispatchExecutor(Executor dispatchExecutor) {
+                this.dispatchExecutor = dispatchExecutor;
+                return this;
+            }
+
+            /**
+             * Dispatch Bus messages to listeners on a pool of threads created
+             * by the given thread factory. Threads are created as required
+             * and released when idle, and the pool is shut down by
+             * {@link Gst#deinit()}. Ignored if a dispatch executor is
+             * provided.
+             *
+             * @param dispatchThreadFactory thread factory for dispatch
+             *                              threads, or null for the default
+             * @return this builder
+             */
+            public Builder dispatchThreadFactory(ThreadFactory dispatchThreadFactory) {
+                this.dispatchThreadFactory = dispatchThreadFactory;
+                return this;
+            }
+
+            /**
+             * Dispatch Bus messages to listeners on a new virtual thread per
+             * dispatch task. Requires Java 21 or later. Ignored if a dispatch
+             * executor or dispatch thread factory is provided.
+             *
+             * @param virtualThreadDispatch true to dispatch on virtual threads
+             * @return this builder
+             * @throws UnsupportedOperationException if virtual threads are not
+             *                                       supported
+             */
+            public Builder virtualThreadDispatch(boolean virtualThreadDispatch) {
+                if (virtualThreadDispatch && !isVirtualThreadDispatchSupported()) {
+                    throw new UnsupportedOperationException(
+                            "Virtual thread dispatch requires Java 21 or later");
+                }
+                this.virtualThreadDispatch = virtualThreadDispatch;
+                return this;
+            }
+
+            /**
+             * Use the glib default main context. See
+             * {@link Gst#setUseDefaultContext(boolean)}, which sets the
+             * initial value for new builders.
+             *
+             * @param useDefaultContext if true, use the default main context
+             * @return this builder
+             */
+            public Builder useDefaultContext(boolean useDefaultContext) {
+                this.useDefaultContext = useDefaultContext;
+                return this;
+            }
+
+            /**
+             * Create the Config.
+             *
+             * @return config
+             */
+            public Config build() {
+                return new Config(this);
+            }
+        }
+
+    }
+
     /**
      * Annotation on classes, methods or fields to show the required GStreamer
      * version. This should particularly be used where the version required is
@@ -25,6 +25,7 @@ import org.freedesktop.gstreamer.glib.RefCountedObject;
 import org.freedesktop.gstreamer.lowlevel.GPointer;
 import org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.MiniObjectStruct;
 import org.freedesktop.gstreamer.lowlevel.GstMiniObjectPtr;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
 
 import static org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.GSTMINIOBJECT_API;
 
@@ -111,18 +112,22 @@ public abstract class MiniObject extends RefCountedObject {
 
         @Override
         protected void disposeNativeHandle(GPointer ptr) {
-            GSTMINIOBJECT_API.gst_mini_object_unref(
-                    ptr.as(GstMiniObjectPtr.class, GstMiniObjectPtr::new));
+            NativeBackend.get().miniObjectUnref(ptr.getPointer());
+        }
+
+        @Override
+        public boolean isScopeable() {
+            return true;
         }
 
         @Override
         protected void ref() {
-            GSTMINIOBJECT_API.gst_mini_object_ref(getPointer());
+            NativeBackend.get().miniObjectRef(getPointer().getPointer());
         }
 
         @Override
         protected void unref() {
-            GSTMINIOBJECT_API.gst_mini_object_unref(getPointer());
+            NativeBackend.get().miniObjectUnref(getPointer().getPointer());
         }
 
         @Override
@@ -28,9 +28,11 @@ import org.freedesktop.gstreamer.event.Event;
 import org.freedesktop.gstreamer.event.EventType;
 import org.freedesktop.gstreamer.glib.NativeFlags;
 import org.freedesktop.gstreamer.glib.Natives;
+import org.freedesktop.gstreamer.lowlevel.EnumMapper;
 import org.freedesktop.gstreamer.lowlevel.GstAPI.GstCallback;
 import org.freedesktop.gstreamer.lowlevel.GstPadAPI;
 import org.freedesktop.gstreamer.lowlevel.GstPadPtr;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -534,6 +536,50 @@ public class Pad extends GstObject {
         removeCallback(DATA_PROBE.class, listener);
     }
 
+    /**
+     * Add a probe that is called when a {@link BufferList} passes through
+     * this Pad. Buffer lists are not passed to probes added with
+     * {@link #addDataProbe(DATA_PROBE)}.
+     *
+     * @param listener the probe to add
+     */
+    public synchronized void addBufferListProbe(final BUFFER_LIST_PROBE listener) {
+
+        final GstPadAPI.PadProbeCallback probe = (pad, probeInfo, user_data) -> {
+            if ((probeInfo.padProbeType & GstPadAPI.GST_PAD_PROBE_TYPE_BUFFER_LIST) != 0) {
+                BufferList list = GSTPAD_API.gst_pad_probe_info_get_buffer_list(probeInfo);
+                PadProbeReturn ret = listener.bufferListReceived(pad, list);
+                if (ret == PadProbeReturn.REMOVE) {
+                    // don't want handle to try and remove in GCallback::disconnect
+                    handle.probes.remove(probeInfo.id);
+                    removeCallback(BUFFER_LIST_PROBE.class, listener);
+                }
+                return ret;
+            }
+
+            return PadProbeReturn.OK;
+        };
+
+        GCallback cb = new GCallback(handle.addProbe(GstPadAPI.GST_PAD_PROBE_TYPE_BUFFER_LIST, probe), probe) {
+            @Override
+            protected void disconnect() {
+                handle.removeProbe(id);
+            }
+        };
+
+        addCallback(BUFFER_LIST_PROBE.class, listener, cb);
+    }
+
+    /**
+     * Remove a probe previously added with
+     * {@link #addBufferListProbe(BUFFER_LIST_PROBE)}.
+     *
+     * @param listener the probe to remove
+     */
+    public void removeBufferListProbe(BUFFER_LIST_PROBE listener) {
+        removeCallback(BUFFER_LIST_PROBE.class, listener);
+    }
+
     /**
      * Sends the event to this pad.
      * <p>
@@ -665,7 +711,29 @@ public class Pad extends GstObject {
      * MT safe.
      */
     public FlowReturn push(final Buffer buffer) {
-        return GSTPAD_API.gst_pad_push(this, buffer);
+        Natives.ref(buffer);
+        int ret = NativeBackend.get().padPush(getRawPointer(), Natives.getRawPointer(buffer));
+        return EnumMapper.getInstance().valueOf(ret, FlowReturn.class);
+    }
+
+    /**
+     * Pushes a buffer list to the peer of pad. This function will call
+     * installed block probes before triggering any installed data probes.
+     * <p>
+     * The function proceeds calling the chain function on the peer pad and
+     * returns the value from that function. If pad has no peer,
+     * {@link FlowReturn#NOT_LINKED} will be returned. If the peer pad does not
+     * have any installed chainlist function every group buffer of the list
+     * will be merged into a normal Buffer and chained via the chain function.
+     * <p>
+     * In all cases, success or failure, the caller loses its reference to
+     * list after calling this function.
+     *
+     * @param list the BufferList to push
+     * @return a FlowReturn from the peer pad.
+     */
+    public FlowReturn pushList(final BufferList list) {
+        return GSTPAD_API.gst_pad_push_list(this, list);
     }
 
     /**
@@ -768,6 +836,18 @@ public class Pad extends GstObject {
 
     }
 
+    /**
+     * Probe for listening when a {@link BufferList} is available on the Pad.
+     *
+     * @see #addBufferListProbe(BUFFER_LIST_PROBE)
+     * @see #removeBufferListProbe(BUFFER_LIST_PROBE)
+     */
+    public interface BUFFER_LIST_PROBE {
+
+        PadProbeReturn bufferListReceived(Pad pad, BufferList list);
+
+    }
+
     private static class Handle extends GstObject.Handle {
 
         private final Set<NativeLong> probes;
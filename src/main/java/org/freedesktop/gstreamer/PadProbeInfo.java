@@ -55,6 +55,15 @@ public final class PadProbeInfo {
         return GSTPAD_API.gst_pad_probe_info_get_buffer(info);
     }
 
+    /**
+     * Get the BufferList from the probe, or null.
+     *
+     * @return buffer list or null
+     */
+    public BufferList getBufferList() {
+        return GSTPAD_API.gst_pad_probe_info_get_buffer_list(info);
+    }
+
     /**
      * Get the Event from the probe, or null.
      *
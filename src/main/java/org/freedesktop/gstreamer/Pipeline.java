@@ -25,11 +25,18 @@ import org.freedesktop.gstreamer.event.SeekFlags;
 import org.freedesktop.gstreamer.event.SeekType;
 import org.freedesktop.gstreamer.glib.Natives;
 import org.freedesktop.gstreamer.lowlevel.GstObjectPtr;
+import org.freedesktop.gstreamer.message.ErrorMessage;
 import org.freedesktop.gstreamer.message.Message;
+import org.freedesktop.gstreamer.message.MessageType;
 import org.freedesktop.gstreamer.query.Query;
 
+import java.time.Duration;
 import java.util.EnumSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
@@ -213,6 +220,121 @@ public class Pipeline extends Bin {
         return handle.busRef.get();
     }
 
+    /**
+     * Set the executor used to deliver messages to listeners on this
+     * pipeline's {@link Bus}, or null to use the
+     * {@link Gst#getDispatchExecutor() Gst dispatch executor}.
+     * <p>
+     * This is a convenience method equivalent to
+     * {@code getBus().setDispatchExecutor(executor)}.
+     *
+     * @param executor dispatch executor, or null for the default
+     * @see Bus#setDispatchExecutor(Executor)
+     */
+    public void setBusExecutor(Executor executor) {
+        getBus().setDispatchExecutor(executor);
+    }
+
+    /**
+     * Set the pipeline to PLAYING, returning a future that completes when the
+     * state change has finished.
+     * <p>
+     * If the state change is asynchronous the future completes with
+     * {@link StateChangeReturn#SUCCESS} once the pipeline itself reports that
+     * it has reached PLAYING, without blocking a thread while waiting.
+     * Messages from child elements, or left over from earlier state changes,
+     * do not complete the future. Otherwise it is completed immediately with
+     * the result of the state change. The future completes exceptionally with
+     * a {@link GstException} if the state change fails, or if an error message
+     * is posted before it completes.
+     * <p>
+     * Cancelling the future stops waiting, but does not affect the state
+     * change.
+     *
+     * @return future completed when the pipeline reaches PLAYING
+     * @see Bus#awaitMessage(Set, java.util.function.Predicate, Duration)
+     */
+    public CompletableFuture<StateChangeReturn> playAsync() {
+        return setStateAsync(State.PLAYING, null);
+    }
+
+    /**
+     * Set the pipeline to PLAYING, returning a future that completes when the
+     * state change has finished, or exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} if the timeout elapses
+     * first.
+     * <p>
+     * See {@link #playAsync()} for how the future is completed.
+     *
+     * @param timeout maximum time to wait for the state change
+     * @return future completed when the pipeline reaches PLAYING
+     */
+    public CompletableFuture<StateChangeReturn> playAsync(Duration timeout) {
+        return setStateAsync(State.PLAYING, Objects.requireNonNull(timeout, "timeout"));
+    }
+
+    /**
+     * Set the pipeline to PAUSED, returning a future that completes when the
+     * pipeline has prerolled.
+     * <p>
+     * See {@link #playAsync()} for how the future is completed. A live
+     * pipeline will complete immediately with
+     * {@link StateChangeReturn#NO_PREROLL}.
+     *
+     * @return future completed when the pipeline reaches PAUSED
+     */
+    public CompletableFuture<StateChangeReturn> pauseAsync() {
+        return setStateAsync(State.PAUSED, null);
+    }
+
+    /**
+     * Set the pipeline to PAUSED, returning a future that completes when the
+     * pipeline has prerolled, or exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} if the timeout elapses
+     * first.
+     * <p>
+     * See {@link #pauseAsync()} for how the future is completed.
+     *
+     * @param timeout maximum time to wait for the state change
+     * @return future completed when the pipeline reaches PAUSED
+     */
+    public CompletableFuture<StateChangeReturn> pauseAsync(Duration timeout) {
+        return setStateAsync(State.PAUSED, Objects.requireNonNull(timeout, "timeout"));
+    }
+
+    private CompletableFuture<StateChangeReturn> setStateAsync(State state, Duration timeout) {
+        // start waiting before the state change so the completion can't be
+        // missed. The pipeline may post ASYNC_DONE before committing its own
+        // state, so STATE_CHANGED is also checked, and in either case only
+        // the current state of the pipeline is trusted.
+        CompletableFuture<Message> done = getBus().awaitMessage(
+                EnumSet.of(MessageType.ASYNC_DONE, MessageType.STATE_CHANGED, MessageType.ERROR),
+                msg -> msg instanceof ErrorMessage
+                        || (equals(msg.getSource()) && getState(0) == state),
+                timeout);
+        StateChangeReturn ret = setState(state);
+        switch (ret) {
+            case ASYNC:
+                CompletableFuture<StateChangeReturn> result = done.thenApply(msg -> {
+                    if (msg instanceof ErrorMessage) {
+                        throw new CompletionException(new GstException(
+                                ((ErrorMessage) msg).getMessage()));
+                    }
+                    return StateChangeReturn.SUCCESS;
+                });
+                // stop waiting if the caller cancels
+                result.whenComplete((r, ex) -> done.cancel(false));
+                return result;
+            case FAILURE:
+                done.cancel(false);
+                return CompletableFuture.failedFuture(
+                        new GstException("Failed to change state to " + state));
+            default:
+                done.cancel(false);
+                return CompletableFuture.completedFuture(ret);
+        }
+    }
+
     /**
      * Sets the position in the media stream to time in nanoseconds.
      * <p>
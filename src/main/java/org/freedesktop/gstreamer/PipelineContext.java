@@ -0,0 +1,221 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer;
+
+import org.freedesktop.gstreamer.glib.GMainContext;
+import org.freedesktop.gstreamer.glib.MainContextExecutorService;
+import org.freedesktop.gstreamer.lowlevel.MainLoop;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.freedesktop.gstreamer.lowlevel.GlibAPI.GLIB_API;
+
+/**
+ * A dedicated GLib main context and main loop thread for running one or more
+ * pipelines independently of the shared {@link Gst#getMainContext() Gst
+ * context}.
+ * <p>
+ * The context is pushed as the thread-default context of its loop thread, so
+ * elements created or started from tasks run with
+ * {@link #invokeAndWait(Callable)} attach any sources they create to this
+ * context. {@link #attach(Pipeline)} delivers the pipeline's bus messages on
+ * the loop thread, and {@link #getExecutor()} runs tasks and timers there.
+ * Pipelines using different contexts therefore do not delay one another.
+ * <p>
+ * A PipelineContext must be closed when no longer required to stop the loop
+ * thread.
+ */
+public final class PipelineContext implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(PipelineContext.class.getName());
+    private static final long CLOSE_TIMEOUT_MS = 1000;
+
+    private final GMainContext context;
+    private final MainLoop loop;
+    private final MainContextExecutorService executor;
+    private final Thread thread;
+    private final CountDownLatch running = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    /**
+     * Create a new context and start its main loop thread.
+     *
+     * @param name name used for the loop thread
+     */
+    public PipelineContext(String name) {
+        context = new GMainContext();
+        loop = new MainLoop(context);
+        executor = new MainContextExecutorService(context);
+        thread = new Thread(this::run, "gstreamer context " + name);
+        thread.setDaemon(true);
+        thread.start();
+        // only dispatched once the loop is running - a quit before then is lost
+        executor.execute(running::countDown);
+    }
+
+    private void run() {
+        GLIB_API.g_main_context_push_thread_default(context);
+        try {
+            loop.run();
+        } finally {
+            GLIB_API.g_main_context_pop_thread_default(context);
+        }
+    }
+
+    /**
+     * Get the main context run by this PipelineContext.
+     *
+     * @return main context
+     */
+    public GMainContext getMainContext() {
+        return context;
+    }
+
+    /**
+     * Get an executor that runs tasks and timers on the loop thread of this
+     * context.
+     *
+     * @return context executor
+     */
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Test whether the current thread is the loop thread of this context.
+     *
+     * @return true if called on the loop thread
+     */
+    public boolean isContextThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Deliver bus messages for the given pipeline on the loop thread of this
+     * context.
+     *
+     * @param pipeline pipeline to attach
+     * @see Pipeline#setBusExecutor(java.util.concurrent.Executor)
+     */
+    public void attach(Pipeline pipeline) {
+        pipeline.setBusExecutor(executor);
+    }
+
+    /**
+     * Stop delivering bus messages for the given pipeline on this context.
+     * Messages will be delivered on the {@link Gst#getDispatchExecutor() Gst
+     * dispatch executor}.
+     *
+     * @param pipeline pipeline to detach
+     */
+    public void detach(Pipeline pipeline) {
+        if (pipeline.getBus().getDispatchExecutor() == executor) {
+            pipeline.setBusExecutor(null);
+        }
+    }
+
+    /**
+     * Run a task on the loop thread, with this context as the thread-default
+     * context, and wait for the result. Pipelines whose elements attach
+     * sources to the thread-default context should be created and started
+     * from here. If called on the loop thread the task is run directly.
+     *
+     * @param <T>  result type
+     * @param task the task to run
+     * @return the result of the task
+     */
+    public <T> T invokeAndWait(Callable<T> task) {
+        try {
+            if (isContextThread()) {
+                return task.call();
+            }
+            return executor.submit(task).get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Test whether this context has been closed.
+     *
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Close this context. Tasks already queued on the executor are run before
+     * the main loop is stopped, waiting a short time for them to complete
+     * unless called from the loop thread itself.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        executor.shutdown();
+        if (!isContextThread()) {
+            try {
+                if (!executor.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    LOG.log(Level.WARNING, "Timed out waiting for context tasks, discarding {0}",
+                            executor.shutdownNow().size());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!isContextThread()) {
+            try {
+                if (!running.await(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    LOG.log(Level.WARNING, "Timed out waiting for context loop to start");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        GLIB_API.g_main_loop_quit(loop);
+        if (!isContextThread()) {
+            try {
+                thread.join(CLOSE_TIMEOUT_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -23,11 +23,27 @@
  */
 package org.freedesktop.gstreamer.elements;
 
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
 import org.freedesktop.gstreamer.Caps;
 import org.freedesktop.gstreamer.Element;
 import org.freedesktop.gstreamer.FlowReturn;
+import org.freedesktop.gstreamer.Gst;
 import org.freedesktop.gstreamer.Sample;
+import org.freedesktop.gstreamer.glib.Natives;
+import org.freedesktop.gstreamer.lowlevel.AppAPI;
+import org.freedesktop.gstreamer.lowlevel.GlibAPI.GDestroyNotify;
 import org.freedesktop.gstreamer.lowlevel.GstAPI.GstCallback;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
 
@@ -46,10 +62,11 @@ import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
  * The normal way of retrieving samples from appsink is by using the
  * {@link #pullSample()} and {@link #pullPreroll()} methods. These methods block
  * until a sample becomes available in the sink or when the sink is shut down or
- * reaches EOS. (<em>TODO - not currently mapped in the Java bindings.</em>
- * There are also timed variants of these methods,
- * gst_app_sink_try_pull_sample() and gst_app_sink_try_pull_preroll(), which
- * accept a timeout parameter to limit the amount of time to wait).
+ * reaches EOS. There are also timed variants of these methods,
+ * {@link #tryPullSample(long, TimeUnit)} and
+ * {@link #tryPullPreroll(long, TimeUnit)}, which accept a timeout parameter to
+ * limit the amount of time to wait. Multiple queued samples can be retrieved
+ * together using {@link #drainTo(Collection, int, long, TimeUnit)}.
  * <p>
  * Appsink will internally use a queue to collect buffers from the streaming
  * thread. If the application is not pulling samples fast enough, this queue
@@ -73,12 +90,41 @@ import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
  * <p>
  * The eos signal can also be used to be informed when the EOS state is reached
  * to avoid polling.
+ * <p>
+ * As an alternative to signals, a {@link SampleHandler} can be installed with
+ * {@link #setSampleHandler(SampleHandler)}. This uses native appsink callbacks
+ * rather than GObject signal marshalling, and passes each pulled Sample
+ * directly to the handler.
  */
 public class AppSink extends BaseSink {
 
     public static final String GST_NAME = "appsink";
     public static final String GTYPE_NAME = "GstAppSink";
 
+    private static final Logger LOG = Logger.getLogger(AppSink.class.getName());
+    private static final CallbackThreadInitializer CALLBACK_THREAD_INIT
+            = new CallbackThreadInitializer(true,
+            Boolean.getBoolean("glib.detachCallbackThreads"),
+            "GstAppSink");
+    // Native callbacks stay reachable until GStreamer releases them - a
+    // streaming thread may still be running replaced callbacks. The native
+    // user data is a key into the registry. Callbacks must not reference the
+    // AppSink, which would then never be released.
+    private static final AtomicLong NEXT_CALLBACKS_ID = new AtomicLong(1);
+    private static final ConcurrentHashMap<Long, AppAPI.AppSinkCallbacks> INSTALLED_CALLBACKS
+            = new ConcurrentHashMap<>();
+    private static final GDestroyNotify CALLBACKS_NOTIFY
+            = data -> INSTALLED_CALLBACKS.remove(Pointer.nativeValue(data));
+
+    static {
+        Native.setCallbackThreadInitializer(CALLBACKS_NOTIFY, CALLBACK_THREAD_INIT);
+    }
+
+    private final Object callbacksLock = new Object();
+    private volatile SampleHandler sampleHandler;
+    @SuppressWarnings({"unused", "FieldCanBeLocal"}) // Keep a reference - the registered callbacks only hold them weakly
+    private Runnable[] queueListeners;
+
     AppSink(Initializer init) {
         super(init);
     }
@@ -165,7 +211,211 @@ public class AppSink extends BaseSink {
      * @return a Sample, or null if the AppSink is stopped or EOS
      */
     public Sample pullSample() {
-        return APP_API.gst_app_sink_pull_sample(this);
+        Pointer ptr = NativeBackend.get().appSinkPullSample(Natives.getRawPointer(this));
+        return ptr == null ? null : Natives.callerOwnsReturn(ptr, Sample.class);
+    }
+
+    /**
+     * Get the last preroll {@link Sample}, waiting at most the given timeout.
+     * <p>
+     * This function behaves as {@link #pullPreroll()} but will return null if
+     * no preroll sample is available before the timeout expires. A timeout of
+     * zero will not block.
+     * <p>
+     * Since GStreamer 1.10
+     *
+     * @param timeout the maximum amount of time to wait for the preroll sample
+     * @param unit    the unit of the timeout
+     * @return a Sample, or null if the AppSink is stopped or EOS or the timeout
+     * expires
+     */
+    @Gst.Since(minor = 10)
+    public Sample tryPullPreroll(long timeout, TimeUnit unit) {
+        Gst.checkVersion(1, 10);
+        return APP_API.gst_app_sink_try_pull_preroll(this, unit.toNanos(timeout));
+    }
+
+    /**
+     * Pull a {@link Sample} from the AppSink, waiting at most the given
+     * timeout.
+     * <p>
+     * This function behaves as {@link #pullSample()} but will return null if
+     * no sample is available before the timeout expires. A timeout of zero will
+     * not block.
+     * <p>
+     * Since GStreamer 1.10
+     *
+     * @param timeout the maximum amount of time to wait for a sample
+     * @param unit    the unit of the timeout
+     * @return a Sample, or null if the AppSink is stopped or EOS or the timeout
+     * expires
+     */
+    @Gst.Since(minor = 10)
+    public Sample tryPullSample(long timeout, TimeUnit unit) {
+        Gst.checkVersion(1, 10);
+        return APP_API.gst_app_sink_try_pull_sample(this, unit.toNanos(timeout));
+    }
+
+    /**
+     * Pull all currently queued {@link Sample}s from the AppSink, up to
+     * {@code maxSamples}, and add them to the given collection.
+     * <p>
+     * This method waits at most the given timeout for the first sample to
+     * become available. Any further samples already queued in the AppSink are
+     * then pulled without blocking, allowing a consumer to process a burst of
+     * samples with a single wakeup. The caller owns the returned samples.
+     * <p>
+     * Since GStreamer 1.10
+     *
+     * @param samples    the collection to add samples to
+     * @param maxSamples the maximum number of samples to pull
+     * @param timeout    the maximum amount of time to wait for the first sample
+     * @param unit       the unit of the timeout
+     * @return the number of samples added to the collection
+     */
+    @Gst.Since(minor = 10)
+    public int drainTo(Collection<? super Sample> samples, int maxSamples,
+                       long timeout, TimeUnit unit) {
+        Gst.checkVersion(1, 10);
+        if (maxSamples <= 0) {
+            return 0;
+        }
+        Sample sample = APP_API.gst_app_sink_try_pull_sample(this, unit.toNanos(timeout));
+        int count = 0;
+        while (sample != null) {
+            samples.add(sample);
+            if (++count >= maxSamples) {
+                break;
+            }
+            sample = APP_API.gst_app_sink_try_pull_sample(this, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Install a {@link SampleHandler} to receive samples from this AppSink.
+     * <p>
+     * The handler is installed using the native appsink callbacks, which avoid
+     * the overhead of GObject signal emission. The handler is called on the
+     * streaming thread and receives each Sample already pulled from the sink.
+     * The handler owns the Sample, and should dispose of it when no longer
+     * required.
+     * <p>
+     * <b>While a handler is installed, the AppSink will not emit the
+     * <code>new-sample</code>, <code>new-preroll</code> or <code>eos</code>
+     * signals.</b> Only one handler may be installed at a time - installing a
+     * handler replaces any existing handler.
+     *
+     * @param handler sample handler, or null to remove
+     */
+    public void setSampleHandler(SampleHandler handler) {
+        if (handler == null) {
+            installCallbacks(null, null, null, null);
+            return;
+        }
+        installCallbacks(handler, null,
+                (appsink, userData) -> {
+                    try {
+                        handler.eos(Natives.objectFor(appsink, AppSink.class, true, true));
+                    } catch (Throwable t) {
+                        LOG.log(Level.SEVERE, "Exception thrown by sample handler", t);
+                    }
+                },
+                (appsink, userData) -> {
+                    AppSink sink = Natives.objectFor(appsink, AppSink.class, true, true);
+                    // the handler may retain the sample
+                    Sample sample = Natives.unscoped(sink::pullSample);
+                    if (sample == null) {
+                        return FlowReturn.OK;
+                    }
+                    try {
+                        return handler.newSample(sink, sample);
+                    } catch (Throwable t) {
+                        LOG.log(Level.SEVERE, "Exception thrown by sample handler", t);
+                        return FlowReturn.ERROR;
+                    }
+                });
+    }
+
+    /**
+     * Install native callbacks that are notified when a sample is queued or
+     * EOS is reached, without pulling the sample. Used by
+     * {@link AppSinkPublisher} so that samples remain in the AppSink queue
+     * until there is demand. The listeners are held by this AppSink until
+     * replaced.
+     *
+     * @param onNewSample called on the streaming thread when a sample is queued
+     * @param onEOS       called on the streaming thread when EOS is reached
+     */
+    void setQueueCallbacks(Runnable onNewSample, Runnable onEOS) {
+        WeakReference<Runnable> newSampleRef = new WeakReference<>(onNewSample);
+        WeakReference<Runnable> eosRef = new WeakReference<>(onEOS);
+        installCallbacks(null, new Runnable[]{onNewSample, onEOS},
+                (appsink, userData) -> {
+                    Runnable listener = eosRef.get();
+                    if (listener == null) {
+                        return;
+                    }
+                    try {
+                        listener.run();
+                    } catch (Throwable t) {
+                        LOG.log(Level.SEVERE, "Exception thrown by eos callback", t);
+                    }
+                },
+                (appsink, userData) -> {
+                    Runnable listener = newSampleRef.get();
+                    if (listener == null) {
+                        return FlowReturn.OK;
+                    }
+                    try {
+                        listener.run();
+                        return FlowReturn.OK;
+                    } catch (Throwable t) {
+                        LOG.log(Level.SEVERE, "Exception thrown by new sample callback", t);
+                        return FlowReturn.ERROR;
+                    }
+                });
+    }
+
+    private void installCallbacks(SampleHandler handler,
+                                  Runnable[] listeners,
+                                  AppAPI.AppSinkEOSCallback eos,
+                                  AppAPI.AppSinkNewSampleCallback newSample) {
+        synchronized (callbacksLock) {
+            AppAPI.AppSinkCallbacks cbs = new AppAPI.AppSinkCallbacks();
+            if (eos != null) {
+                cbs.eos = eos;
+                cbs.new_sample = newSample;
+                Native.setCallbackThreadInitializer(cbs.eos, CALLBACK_THREAD_INIT);
+                Native.setCallbackThreadInitializer(cbs.new_sample, CALLBACK_THREAD_INIT);
+                long id = NEXT_CALLBACKS_ID.getAndIncrement();
+                INSTALLED_CALLBACKS.put(id, cbs);
+                APP_API.gst_app_sink_set_callbacks(this, cbs, new Pointer(id), CALLBACKS_NOTIFY);
+            } else {
+                APP_API.gst_app_sink_set_callbacks(this, cbs, null, null);
+            }
+            sampleHandler = handler;
+            queueListeners = listeners;
+        }
+    }
+
+    /**
+     * Clear the {@link SampleHandler}.
+     * <p>
+     * This is a convenience method equivalent to
+     * {@code setSampleHandler(null)}
+     */
+    public void clearSampleHandler() {
+        setSampleHandler(null);
+    }
+
+    /**
+     * Get the current {@link SampleHandler}.
+     *
+     * @return current sample handler, or null
+     */
+    public SampleHandler getSampleHandler() {
+        return sampleHandler;
     }
 
     /**
@@ -284,4 +534,33 @@ public class AppSink extends BaseSink {
         FlowReturn newPreroll(AppSink elem);
     }
 
+    /**
+     * Handler for samples delivered using native appsink callbacks rather than
+     * signals.
+     *
+     * @see #setSampleHandler(SampleHandler)
+     */
+    public interface SampleHandler {
+
+        /**
+         * Called on the streaming thread when a new {@link Sample} has been
+         * pulled from the AppSink. The handler owns the Sample, and should
+         * dispose of it when no longer required.
+         *
+         * @param elem   AppSink
+         * @param sample the pulled Sample
+         * @return FlowReturn
+         */
+        FlowReturn newSample(AppSink elem, Sample sample);
+
+        /**
+         * Called when the AppSink got EOS. The default implementation does
+         * nothing.
+         *
+         * @param elem AppSink
+         */
+        default void eos(AppSink elem) {
+        }
+    }
+
 }
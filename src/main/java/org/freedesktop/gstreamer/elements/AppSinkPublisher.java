@@ -0,0 +1,288 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.elements;
+
+import org.freedesktop.gstreamer.Gst;
+import org.freedesktop.gstreamer.Sample;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
+
+/**
+ * A {@link Flow.Publisher} of {@link Sample}s from an {@link AppSink}.
+ * <p>
+ * Samples are only pulled from the AppSink when the subscriber has signalled
+ * demand. No additional queue is kept on the Java side - undelivered samples
+ * remain in the AppSink's own queue, the size of which is set from the
+ * publisher's buffer limit. When the queue is full and there is no demand,
+ * the publisher either leaves the streaming thread to block inside the
+ * AppSink, throttling upstream, or discards the oldest queued sample,
+ * depending on the drop policy passed to the constructor.
+ * <p>
+ * Samples are delivered to the subscriber either on the streaming thread or on
+ * the thread calling {@link Flow.Subscription#request(long)}, but never
+ * concurrently. The subscriber owns each delivered Sample, and should dispose
+ * of it when no longer required.
+ * <p>
+ * An AppSinkPublisher is single use - it accepts one subscriber over its
+ * lifetime, and any later subscriber, including one subscribing after the
+ * first subscription was cancelled, completed or failed, is rejected with
+ * {@link Flow.Subscriber#onError(Throwable)}. Create a new publisher to
+ * subscribe again. While subscribed the publisher installs native callbacks
+ * on the AppSink, replacing any {@link AppSink.SampleHandler}, and the AppSink
+ * will not emit signals.
+ * <p>
+ * Since GStreamer 1.10
+ */
+@Gst.Since(minor = 10)
+public class AppSinkPublisher implements Flow.Publisher<Sample> {
+
+    private static final Logger LOG = Logger.getLogger(AppSinkPublisher.class.getName());
+
+    private final AppSink sink;
+    private final int maxBuffers;
+    private final boolean drop;
+    private final AtomicBoolean subscribed;
+    private final AtomicLong delivered;
+    private final AtomicLong dropped;
+
+    private volatile SampleSubscription subscription;
+
+    /**
+     * Create an AppSinkPublisher for the provided AppSink. The "max-buffers"
+     * and "drop" properties of the AppSink will be configured when a
+     * subscriber subscribes.
+     *
+     * @param sink       the AppSink to pull samples from
+     * @param maxBuffers the maximum number of samples to queue while there is
+     *                   no demand
+     * @param drop       true to discard the oldest queued sample when the queue
+     *                   is full, false to block the streaming thread
+     */
+    public AppSinkPublisher(AppSink sink, int maxBuffers, boolean drop) {
+        Gst.checkVersion(1, 10);
+        if (maxBuffers < 1) {
+            throw new IllegalArgumentException("maxBuffers must be at least 1");
+        }
+        this.sink = Objects.requireNonNull(sink);
+        this.maxBuffers = maxBuffers;
+        this.drop = drop;
+        this.subscribed = new AtomicBoolean();
+        this.delivered = new AtomicLong();
+        this.dropped = new AtomicLong();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Sample> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                    "AppSinkPublisher only supports a single subscription"));
+            return;
+        }
+        SampleSubscription sub = new SampleSubscription(subscriber);
+        subscription = sub;
+        // In drop mode we discard the oldest sample ourselves, in the new
+        // sample callback, so that it can be counted. The extra slot stops
+        // the AppSink dropping before the callback has run, and as only the
+        // streaming thread adds samples the queue never exceeds it.
+        sink.set("max-buffers", drop ? maxBuffers + 1 : maxBuffers);
+        sink.set("drop", drop);
+        subscriber.onSubscribe(sub);
+        sink.setQueueCallbacks(sub::sampleQueued, sub::eosReached);
+        if (sub.done) {
+            // cancelled in onSubscribe, or concurrently with installing the
+            // callbacks
+            sink.clearSampleHandler();
+        }
+    }
+
+    /**
+     * Get the AppSink this publisher pulls samples from.
+     *
+     * @return AppSink
+     */
+    public AppSink getAppSink() {
+        return sink;
+    }
+
+    /**
+     * Get the outstanding demand of the current subscriber - the number of
+     * samples requested but not yet delivered.
+     *
+     * @return outstanding demand, or zero if there is no subscriber
+     */
+    public long getDemand() {
+        SampleSubscription sub = subscription;
+        return sub == null ? 0 : sub.demand.get();
+    }
+
+    /**
+     * Get the number of samples delivered to the subscriber.
+     *
+     * @return delivered sample count
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Get the number of samples discarded because the queue was full and
+     * there was no demand from the subscriber. This is always zero if the
+     * publisher was created with the blocking policy.
+     *
+     * @return dropped sample count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private final class SampleSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Sample> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger queued;
+        private final AtomicInteger wip;
+
+        private volatile boolean eos;
+        private volatile boolean done;
+
+        private SampleSubscription(Flow.Subscriber<? super Sample> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.queued = new AtomicInteger();
+            this.wip = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException(
+                        "Subscription request must be positive : " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, req) -> {
+                long sum = current + req;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                sink.clearSampleHandler();
+            }
+        }
+
+        private void sampleQueued() {
+            if (queued.incrementAndGet() > maxBuffers && drop) {
+                // drop here rather than in drain(), which may be busy
+                // delivering on another thread
+                while (queued.get() > maxBuffers) {
+                    Sample sample = pull();
+                    if (sample == null) {
+                        break;
+                    }
+                    sample.dispose();
+                    dropped.incrementAndGet();
+                }
+            }
+            drain();
+        }
+
+        private void eosReached() {
+            eos = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+                while (demand.get() > 0) {
+                    Sample sample = pull();
+                    if (sample == null) {
+                        break;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    delivered.incrementAndGet();
+                    try {
+                        subscriber.onNext(sample);
+                    } catch (Throwable t) {
+                        LOG.log(Level.SEVERE, "Exception thrown by subscriber", t);
+                        cancel();
+                        subscriber.onError(t);
+                        return;
+                    }
+                    if (done) {
+                        return;
+                    }
+                }
+                if (eos && APP_API.gst_app_sink_is_eos(sink)) {
+                    cancel();
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private Sample pull() {
+            if (queued.get() <= 0) {
+                return null;
+            }
+            Sample sample = APP_API.gst_app_sink_try_pull_sample(sink, 0);
+            if (sample != null) {
+                queued.decrementAndGet();
+            } else {
+                // queue was flushed or sink stopped
+                queued.set(0);
+            }
+            return sample;
+        }
+
+    }
+
+}
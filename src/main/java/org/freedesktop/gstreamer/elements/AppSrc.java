@@ -21,14 +21,20 @@
  */
 package org.freedesktop.gstreamer.elements;
 
+import com.sun.jna.Pointer;
 import com.sun.jna.ptr.LongByReference;
 import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.BufferList;
 import org.freedesktop.gstreamer.Caps;
 import org.freedesktop.gstreamer.Element;
 import org.freedesktop.gstreamer.FlowReturn;
 import org.freedesktop.gstreamer.Format;
+import org.freedesktop.gstreamer.Gst;
 import org.freedesktop.gstreamer.glib.NativeEnum;
+import org.freedesktop.gstreamer.glib.Natives;
+import org.freedesktop.gstreamer.lowlevel.EnumMapper;
 import org.freedesktop.gstreamer.lowlevel.GstAPI.GstCallback;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
 
 import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
 
@@ -98,6 +104,10 @@ import static org.freedesktop.gstreamer.lowlevel.AppAPI.APP_API;
  * {@link #endOfStream() } or emit the end-of-stream action signal. After this
  * call, no more buffers can be pushed into appsrc until a flushing seek occurs
  * or the state of the appsrc has gone through READY.
+ * <p>
+ * An {@link AppSrcSubscriber} can be used to feed an AppSrc from a
+ * {@link java.util.concurrent.Flow.Publisher}, requesting buffers only while
+ * the appsrc needs data.
  */
 public class AppSrc extends BaseSrc {
 
@@ -191,6 +201,15 @@ public class AppSrc extends BaseSrc {
         return APP_API.gst_app_src_get_max_bytes(this);
     }
 
+    /**
+     * Get the number of bytes currently queued in the appsrc.
+     *
+     * @return number of queued bytes
+     */
+    public long getCurrentLevelBytes() {
+        return APP_API.gst_app_src_get_current_level_bytes(this);
+    }
+
     /**
      * Configure the min and max latency in src . If min is set to -1, the
      * default latency calculations for pseudo-live sources will be used.
@@ -228,7 +247,31 @@ public class AppSrc extends BaseSrc {
      * EOS occurred.
      */
     public FlowReturn pushBuffer(Buffer buffer) {
-        return APP_API.gst_app_src_push_buffer(this, buffer);
+        Pointer ptr = Natives.getRawPointer(buffer);
+        buffer.invalidate();
+        int ret = NativeBackend.get().appSrcPushBuffer(Natives.getRawPointer(this), ptr);
+        return EnumMapper.getInstance().valueOf(ret, FlowReturn.class);
+    }
+
+    /**
+     * Adds a buffer list to the queue of buffers and buffer lists that the
+     * appsrc element will push to its source pad. This function takes
+     * ownership of the buffer list.
+     * <p>
+     * When the block property is TRUE, this function can block until free space
+     * becomes available in the queue.
+     * <p>
+     * Since GStreamer 1.14
+     *
+     * @param list a {@link BufferList} to push
+     * @return GST_FLOW_OK when the buffer list was successfully queued.
+     * GST_FLOW_FLUSHING when appsrc is not PAUSED or PLAYING. GST_FLOW_EOS when
+     * EOS occurred.
+     */
+    @Gst.Since(minor = 14)
+    public FlowReturn pushBufferList(BufferList list) {
+        Gst.checkVersion(1, 14);
+        return APP_API.gst_app_src_push_buffer_list(this, list);
     }
 
     /**
@@ -0,0 +1,213 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.elements;
+
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.FlowReturn;
+import org.freedesktop.gstreamer.State;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Flow.Subscriber} of {@link Buffer}s that pushes into an
+ * {@link AppSrc}.
+ * <p>
+ * Buffers are only requested from the upstream publisher while the AppSrc
+ * needs data. Requesting starts on subscription if the AppSrc is already
+ * running with space in its queue, otherwise on the <code>need-data</code>
+ * signal. It stops on the <code>enough-data</code> signal or as soon as the
+ * queued data in the AppSrc reaches its "max-bytes" limit. The AppSrc "block"
+ * property is disabled while subscribed so that pushing from the publisher's
+ * thread never blocks, and restored when the subscription ends.
+ * <p>
+ * Buffers are requested from the publisher in batches of the configured size.
+ * The subscriber takes ownership of each Buffer passed to
+ * {@link #onNext(Buffer)}. When the publisher completes, end-of-stream is
+ * signalled on the AppSrc. When the publisher signals an error, end-of-stream
+ * is also signalled and the error is available from {@link #getError()}.
+ * <p>
+ * An AppSrcSubscriber may only be subscribed once.
+ */
+public class AppSrcSubscriber implements Flow.Subscriber<Buffer> {
+
+    private static final Logger LOG = Logger.getLogger(AppSrcSubscriber.class.getName());
+
+    private final AppSrc src;
+    private final long batchSize;
+    private final AtomicBoolean needData;
+    private final AtomicLong outstanding;
+    private final AtomicLong pushed;
+    private final AppSrc.NEED_DATA needDataListener;
+    private final AppSrc.ENOUGH_DATA enoughDataListener;
+
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean done;
+    private volatile boolean previousBlock;
+
+    /**
+     * Create an AppSrcSubscriber for the provided AppSrc, requesting a single
+     * buffer at a time.
+     *
+     * @param src the AppSrc to push buffers into
+     */
+    public AppSrcSubscriber(AppSrc src) {
+        this(src, 1);
+    }
+
+    /**
+     * Create an AppSrcSubscriber for the provided AppSrc.
+     * <p>
+     * The AppSrc "block" property is set to false on subscription, and
+     * restored to its previous value when the subscription ends.
+     *
+     * @param src       the AppSrc to push buffers into
+     * @param batchSize the number of buffers to request from the publisher at
+     *                  a time
+     */
+    public AppSrcSubscriber(AppSrc src, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.src = Objects.requireNonNull(src);
+        this.batchSize = batchSize;
+        this.needData = new AtomicBoolean();
+        this.outstanding = new AtomicLong();
+        this.pushed = new AtomicLong();
+        this.needDataListener = (elem, size) -> {
+            needData.set(true);
+            requestMore();
+        };
+        this.enoughDataListener = elem -> needData.set(false);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (this.subscription != null || done) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        previousBlock = src.getBoolean("block");
+        src.setBoolean("block", false);
+        src.connect(enoughDataListener);
+        src.connect(needDataListener);
+        // need-data may already have been emitted by a running AppSrc
+        State state = src.getState(0);
+        long max = src.getMaxBytes();
+        if ((state == State.PAUSED || state == State.PLAYING)
+                && (max <= 0 || src.getCurrentLevelBytes() < max)) {
+            needData.set(true);
+            requestMore();
+        }
+    }
+
+    @Override
+    public void onNext(Buffer buffer) {
+        Objects.requireNonNull(buffer);
+        if (done) {
+            buffer.dispose();
+            return;
+        }
+        outstanding.decrementAndGet();
+        FlowReturn ret = src.pushBuffer(buffer);
+        if (ret == FlowReturn.OK) {
+            pushed.incrementAndGet();
+            long max = src.getMaxBytes();
+            if (max > 0 && src.getCurrentLevelBytes() >= max) {
+                needData.set(false);
+            }
+            requestMore();
+        } else if (ret != FlowReturn.FLUSHING) {
+            // EOS or error downstream - no point requesting any more buffers
+            LOG.log(Level.FINE, "Cancelling subscription after push returned {0}", ret);
+            release();
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done) {
+            return;
+        }
+        error = throwable;
+        release();
+        src.endOfStream();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        release();
+        src.endOfStream();
+    }
+
+    /**
+     * Get the AppSrc this subscriber pushes buffers into.
+     *
+     * @return AppSrc
+     */
+    public AppSrc getAppSrc() {
+        return src;
+    }
+
+    /**
+     * Get the number of buffers successfully pushed into the AppSrc.
+     *
+     * @return pushed buffer count
+     */
+    public long getPushed() {
+        return pushed.get();
+    }
+
+    /**
+     * Get the error signalled by the publisher, if any.
+     *
+     * @return error or null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    private void requestMore() {
+        Flow.Subscription s = subscription;
+        if (s == null || done || !needData.get()) {
+            return;
+        }
+        if (outstanding.compareAndSet(0, batchSize)) {
+            s.request(batchSize);
+        }
+    }
+
+    private void release() {
+        done = true;
+        needData.set(false);
+        src.disconnect(needDataListener);
+        src.disconnect(enoughDataListener);
+        src.setBoolean("block", previousBlock);
+    }
+
+}
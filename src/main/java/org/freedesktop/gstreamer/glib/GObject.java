@@ -27,11 +27,11 @@ import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.PointerByReference;
 import org.freedesktop.gstreamer.lowlevel.*;
 import org.freedesktop.gstreamer.lowlevel.GObjectAPI.GParamSpec;
-import org.freedesktop.gstreamer.lowlevel.GValueAPI.GValue;
 
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,9 +57,15 @@ public abstract class GObject extends RefCountedObject {
     private static final Map<GObject, Boolean> STRONG_REFS
             = new ConcurrentHashMap<>();
     private static final GObjectAPI.GToggleNotify TOGGLE_NOTIFY = new ToggleNotify();
+    // g_object_setv / g_object_getv require GLib 2.54
+    private static volatile boolean MULTI_PROPERTY_ACCESS = true;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<GObject, Map> CALLBACK_LISTENERS
+            = AtomicReferenceFieldUpdater.newUpdater(GObject.class, Map.class, "callbackListeners");
 
     private final Handle handle;
-    private Map<Class<?>, Map<Object, GCallback>> callbackListeners;
+    // created on first addCallback - most wrappers never have listeners
+    private volatile Map<Class<?>, Listener[]> callbackListeners;
 
     protected GObject(Initializer init) {
         this(new Handle(init.ptr.as(GObjectPtr.class, GObjectPtr::new), init.ownsHandle), init.needRef);
@@ -144,46 +150,62 @@ public abstract class GObject extends RefCountedObject {
         throw new IllegalArgumentException("Expected long value, not " + value.getClass());
     }
 
-    private static boolean setGValue(GValue value, GType type, Object data) {
-        if (type.equals(GType.INT)) {
-            GVALUE_API.g_value_set_int(value, intValue(data));
-        } else if (type.equals(GType.UINT)) {
-            GVALUE_API.g_value_set_uint(value, intValue(data));
-        } else if (type.equals(GType.CHAR)) {
-            GVALUE_API.g_value_set_char(value, (byte) intValue(data));
-        } else if (type.equals(GType.UCHAR)) {
-            GVALUE_API.g_value_set_uchar(value, (byte) intValue(data));
-        } else if (type.equals(GType.LONG)) {
-            GVALUE_API.g_value_set_long(value, new NativeLong(longValue(data)));
-        } else if (type.equals(GType.ULONG)) {
-            GVALUE_API.g_value_set_ulong(value, new NativeLong(longValue(data)));
-        } else if (type.equals(GType.INT64)) {
-            GVALUE_API.g_value_set_int64(value, longValue(data));
-        } else if (type.equals(GType.UINT64)) {
-            GVALUE_API.g_value_set_uint64(value, longValue(data));
-        } else if (type.equals(GType.BOOLEAN)) {
-            GVALUE_API.g_value_set_boolean(value, booleanValue(data));
-        } else if (type.equals(GType.FLOAT)) {
-            GVALUE_API.g_value_set_float(value, floatValue(data));
-        } else if (type.equals(GType.DOUBLE)) {
-            GVALUE_API.g_value_set_double(value, doubleValue(data));
-        } else {
-            return false;
+    private static String stringValue(Object value) {
+        //
+        // Special conversion of java URI to gstreamer compatible uri
+        //
+        if (value instanceof URI uri) {
+            String uriString = uri.toString();
+            // Need to fixup file:/ to be file:/// for gstreamer
+            if ("file".equals(uri.getScheme()) && uri.getHost() == null) {
+                final String path = uri.getRawPath();
+                uriString = "file://" + path;
+            }
+            return uriString;
         }
-        return true;
+        return value == null ? null : value.toString();
     }
 
-    private static GValue transform(GValue src, GType dstType) {
-        GValue dst = new GValue();
+    private static void setValue(Pointer value, PropertyCache.Kind kind, Object data) {
+        switch (kind) {
+            case INT:
+            case UINT:
+            case CHAR:
+            case UCHAR:
+                PropertyCache.writeIntegral(value, kind, intValue(data));
+                break;
+            case LONG:
+            case ULONG:
+            case INT64:
+            case UINT64:
+                PropertyCache.writeIntegral(value, kind, longValue(data));
+                break;
+            case BOOLEAN:
+                PropertyCache.writeBoolean(value, booleanValue(data));
+                break;
+            case FLOAT:
+                PropertyCache.writeFloating(value, kind, floatValue(data));
+                break;
+            case DOUBLE:
+                PropertyCache.writeFloating(value, kind, doubleValue(data));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown conversion to " + kind);
+        }
+    }
+
+    private static Memory transform(Pointer src, GType dstType) {
+        Memory dst = PropertyCache.allocate(1);
         GVALUE_API.g_value_init(dst, dstType);
         GVALUE_API.g_value_transform(src, dst);
         return dst;
     }
 
-    private static void transform(Object data, GType type, GValue dst) {
-        GValue src = new GValue();
-        GVALUE_API.g_value_init(src, type);
-        setGValue(src, type, data);
+    private static void transform(Object data, GType type, Pointer dst) {
+        PropertyCache.Kind kind = PropertyCache.Kind.of(type);
+        Memory src = PropertyCache.allocate(1);
+        PropertyCache.init(src, type, kind);
+        setValue(src, kind, data);
         GVALUE_API.g_value_transform(src, dst);
     }
 
@@ -192,20 +214,26 @@ public abstract class GObject extends RefCountedObject {
         connect(signal, listenerClass, listener, cb);
     }
 
-    public synchronized <T> void connect(String signal, Class<T> listenerClass, T listener, Callback cb) {
+    public <T> void connect(String signal, Class<T> listenerClass, T listener, Callback cb) {
         Native.setCallbackThreadInitializer(cb, GCALLBACK_THREAD_INIT);
         addCallback(listenerClass, listener, new SignalCallback(signal, cb));
     }
 
-    public synchronized <T> void disconnect(Class<T> listenerClass, T listener) {
+    public <T> void disconnect(Class<T> listenerClass, T listener) {
         removeCallback(listenerClass, listener);
     }
 
-    public synchronized void emit(String signal, Object... arguments) {
-        GSIGNAL_API.g_signal_emit_by_name(this, signal, arguments);
+    public void emit(String signal, Object... arguments) {
+        SignalCache.Signal id = SignalCache.find(handle.getPointer().getGType(), signal);
+        if (id != null) {
+            GSIGNAL_API.g_signal_emit(this, id.id, id.detail, arguments);
+        } else {
+            // let GLib report the unknown signal
+            GSIGNAL_API.g_signal_emit_by_name(this, signal, arguments);
+        }
     }
 
-    public synchronized <T extends NativeObject> T emit(Class<T> resultType, String signal, Object... arguments) {
+    public <T extends NativeObject> T emit(Class<T> resultType, String signal, Object... arguments) {
         PointerByReference pointerToResult = new PointerByReference(null);
         Object[] fullArguments = Arrays.copyOf(arguments, arguments.length + 1);
         fullArguments[arguments.length] = pointerToResult;
@@ -226,55 +254,99 @@ public abstract class GObject extends RefCountedObject {
      */
     public Object get(String property) {
         LOG.entering("GObject", "get", new Object[]{property});
-        GObjectAPI.GParamSpec propertySpec = findProperty(property);
-        if (propertySpec == null) {
-            throw new IllegalArgumentException("Unknown property: " + property);
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind == PropertyCache.Kind.OTHER) {
+            return getConverted(prop);
         }
-        final GType propType = propertySpec.value_type;
-        GValue propValue = new GValue();
-        GVALUE_API.g_value_init(propValue, propType);
-        GOBJECT_API.g_object_get_property(this, property, propValue);
-        if (propType.equals(GType.INT)) {
-            return GVALUE_API.g_value_get_int(propValue);
-        } else if (propType.equals(GType.UINT)) {
-            return GVALUE_API.g_value_get_uint(propValue);
-        } else if (propType.equals(GType.CHAR)) {
-            return (int) GVALUE_API.g_value_get_char(propValue);
-        } else if (propType.equals(GType.UCHAR)) {
-            return (int) GVALUE_API.g_value_get_uchar(propValue);
-        } else if (propType.equals(GType.LONG)) {
-            return GVALUE_API.g_value_get_long(propValue).longValue();
-        } else if (propType.equals(GType.ULONG)) {
-            return GVALUE_API.g_value_get_ulong(propValue).longValue();
-        } else if (propType.equals(GType.INT64)) {
-            return GVALUE_API.g_value_get_int64(propValue);
-        } else if (propType.equals(GType.UINT64)) {
-            return GVALUE_API.g_value_get_uint64(propValue);
-        } else if (propType.equals(GType.BOOLEAN)) {
-            return GVALUE_API.g_value_get_boolean(propValue);
-        } else if (propType.equals(GType.FLOAT)) {
-            return GVALUE_API.g_value_get_float(propValue);
-        } else if (propType.equals(GType.DOUBLE)) {
-            return GVALUE_API.g_value_get_double(propValue);
-        } else if (propType.equals(GType.STRING)) {
-            return GVALUE_API.g_value_get_string(propValue);
-        } else if (propType.equals(GType.OBJECT)) {
-            return GVALUE_API.g_value_dup_object(propValue);
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.OBJECT)) {
-            return GVALUE_API.g_value_dup_object(transform(propValue, GType.OBJECT));
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT)) {
-            return GVALUE_API.g_value_get_int(transform(propValue, GType.INT));
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT64)) {
-            return GVALUE_API.g_value_get_int64(transform(propValue, GType.INT64));
-        } else if (propValue.checkHolds(GType.BOXED)) {
-            // @TODO we already know the GType here - optimise this!
-            Class<? extends NativeObject> cls = GstTypes.classFor(propType);
-            if (cls != null) {
-                Pointer ptr = GVALUE_API.g_value_get_boxed(propValue);
-                return Natives.objectFor(ptr, cls, true, true);
+        Memory propValue = readProperty(prop);
+        try {
+            return directValue(prop, propValue);
+        } finally {
+            PropertyCache.release(propValue, prop);
+        }
+    }
+
+    /**
+     * Gets the current value of a numeric <pre>GObject</pre> property as an
+     * int, without boxing for integer properties.
+     *
+     * @param property The name of the property to get.
+     * @return the property value
+     */
+    public int getInt(String property) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind.isIntegral()) {
+            return (int) readIntegral(prop);
+        }
+        return intValue(get(property));
+    }
+
+    /**
+     * Gets the current value of a numeric <pre>GObject</pre> property as a
+     * long, without boxing for integer properties.
+     * <p>
+     * Unsigned 64-bit values above {@link Long#MAX_VALUE} wrap to negative
+     * values - use {@link Long#toUnsignedString(long)} or
+     * {@link Long#compareUnsigned(long, long)} where this matters, or
+     * {@link #getDouble(String)} for an approximate positive value.
+     *
+     * @param property The name of the property to get.
+     * @return the property value
+     */
+    public long getLong(String property) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind.isIntegral()) {
+            return readIntegral(prop);
+        }
+        return longValue(get(property));
+    }
+
+    /**
+     * Gets the current value of a numeric <pre>GObject</pre> property as a
+     * double, without boxing for float and double properties.
+     *
+     * @param property The name of the property to get.
+     * @return the property value
+     */
+    public double getDouble(String property) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind == PropertyCache.Kind.FLOAT || prop.kind == PropertyCache.Kind.DOUBLE) {
+            Memory propValue = readProperty(prop);
+            try {
+                return PropertyCache.readFloating(propValue, prop.kind);
+            } finally {
+                PropertyCache.release(propValue, prop);
+            }
+        } else if (prop.kind.isIntegral()) {
+            long value = readIntegral(prop);
+            if (value < 0 && (prop.kind == PropertyCache.Kind.ULONG
+                    || prop.kind == PropertyCache.Kind.UINT64)) {
+                // unsigned conversion, rounding as for a signed value
+                return (double) ((value >>> 1) | (value & 1)) * 2.0;
             }
+            return value;
         }
-        throw new IllegalArgumentException("Unknown conversion from GType=" + propType);
+        return doubleValue(get(property));
+    }
+
+    /**
+     * Gets the current value of a boolean <pre>GObject</pre> property, without
+     * boxing.
+     *
+     * @param property The name of the property to get.
+     * @return the property value
+     */
+    public boolean getBoolean(String property) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind == PropertyCache.Kind.BOOLEAN) {
+            Memory propValue = readProperty(prop);
+            try {
+                return PropertyCache.readBoolean(propValue);
+            } finally {
+                PropertyCache.release(propValue, prop);
+            }
+        }
+        return booleanValue(get(property));
     }
 
     /**
@@ -376,82 +448,260 @@ public abstract class GObject extends RefCountedObject {
      */
     public void set(String property, Object data) {
         LOG.entering("GObject", "set", new Object[]{property, data});
-        GObjectAPI.GParamSpec propertySpec = findProperty(property);
-        if (propertySpec == null /*|| data == null*/) {
-            throw new IllegalArgumentException("Unknown property: " + property);
-        }
+        PropertyCache.Property prop = findCachedProperty(property);
         if (data instanceof NativeEnum) {
             data = ((NativeEnum<?>) data).intValue();
         }
-        final GType propType = propertySpec.value_type;
+        GType via = null;
+        if (prop.kind == PropertyCache.Kind.OTHER) {
+            via = prop.writeVia();
+            if (via == GType.INVALID) {
+                // Old behaviour
+                GOBJECT_API.g_object_set(this, property, data);
+                return;
+            }
+        }
+        Memory propValue = PropertyCache.acquire(prop);
+        try {
+            fillValue(propValue, prop.kind, via, data);
+            writeProperty(prop, propValue);
+        } finally {
+            PropertyCache.release(propValue, prop);
+        }
+    }
 
-        GValue propValue = new GValue();
-        GVALUE_API.g_value_init(propValue, propType);
-        if (propType.equals(GType.INT)) {
-            GVALUE_API.g_value_set_int(propValue, intValue(data));
-        } else if (propType.equals(GType.UINT)) {
-            GVALUE_API.g_value_set_uint(propValue, intValue(data));
-        } else if (propType.equals(GType.CHAR)) {
-            GVALUE_API.g_value_set_char(propValue, (byte) intValue(data));
-        } else if (propType.equals(GType.UCHAR)) {
-            GVALUE_API.g_value_set_uchar(propValue, (byte) intValue(data));
-        } else if (propType.equals(GType.LONG)) {
-            GVALUE_API.g_value_set_long(propValue, new NativeLong(longValue(data)));
-        } else if (propType.equals(GType.ULONG)) {
-            GVALUE_API.g_value_set_ulong(propValue, new NativeLong(longValue(data)));
-        } else if (propType.equals(GType.INT64)) {
-            GVALUE_API.g_value_set_int64(propValue, longValue(data));
-        } else if (propType.equals(GType.UINT64)) {
-            GVALUE_API.g_value_set_uint64(propValue, longValue(data));
-        } else if (propType.equals(GType.BOOLEAN)) {
-            GVALUE_API.g_value_set_boolean(propValue, booleanValue(data));
-        } else if (propType.equals(GType.FLOAT)) {
-            GVALUE_API.g_value_set_float(propValue, floatValue(data));
-        } else if (propType.equals(GType.DOUBLE)) {
-            GVALUE_API.g_value_set_double(propValue, doubleValue(data));
-        } else if (propType.equals(GType.STRING)) {
-            //
-            // Special conversion of java URI to gstreamer compatible uri
-            //
-            if (data instanceof URI uri) {
-                String uriString = uri.toString();
-                // Need to fixup file:/ to be file:/// for gstreamer
-                if ("file".equals(uri.getScheme()) && uri.getHost() == null) {
-                    final String path = uri.getRawPath();
-                    uriString = "file://" + path;
-                }
-                GVALUE_API.g_value_set_string(propValue, uriString);
-            } else if (data == null) {
-                GVALUE_API.g_value_set_string(propValue, null);
-            } else {
-                GVALUE_API.g_value_set_string(propValue, data.toString());
-            }
-        } else if (propType.equals(GType.OBJECT)) {
-            GVALUE_API.g_value_set_object(propValue, (GObject) data);
-        } else if (GVALUE_API.g_value_type_transformable(GType.INT64, propType)) {
-            transform(data, GType.INT64, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.LONG, propType)) {
-            transform(data, GType.LONG, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.INT, propType)) {
-            transform(data, GType.INT, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.DOUBLE, propType)) {
-            transform(data, GType.DOUBLE, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.FLOAT, propType)) {
-            transform(data, GType.FLOAT, propValue);
+    /**
+     * Sets the value of a numeric <pre>GObject</pre> property, without boxing
+     * for integer, float and double properties.
+     *
+     * @param property The property to set.
+     * @param value    The value for the property.
+     */
+    public void setInt(String property, int value) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind.isNumeric()) {
+            writeNumber(property, prop, value, value);
         } else {
-            // Old behaviour
-            GOBJECT_API.g_object_set(this, property, data);
+            set(property, value);
+        }
+    }
+
+    /**
+     * Sets the value of a numeric <pre>GObject</pre> property, without boxing
+     * for integer, float and double properties.
+     *
+     * @param property The property to set.
+     * @param value    The value for the property.
+     */
+    public void setLong(String property, long value) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind.isNumeric()) {
+            writeNumber(property, prop, value, value);
+        } else {
+            set(property, value);
+        }
+    }
+
+    /**
+     * Sets the value of a numeric <pre>GObject</pre> property, without boxing
+     * for integer, float and double properties.
+     *
+     * @param property The property to set.
+     * @param value    The value for the property.
+     */
+    public void setDouble(String property, double value) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind.isNumeric()) {
+            writeNumber(property, prop, (long) value, value);
+        } else {
+            set(property, value);
+        }
+    }
+
+    /**
+     * Sets the value of a boolean <pre>GObject</pre> property, without boxing.
+     *
+     * @param property The property to set.
+     * @param value    The value for the property.
+     */
+    public void setBoolean(String property, boolean value) {
+        PropertyCache.Property prop = findCachedProperty(property);
+        if (prop.kind == PropertyCache.Kind.BOOLEAN) {
+            Memory propValue = PropertyCache.acquire(prop);
+            try {
+                PropertyCache.writeBoolean(propValue, value);
+                writeProperty(prop, propValue);
+            } finally {
+                PropertyCache.release(propValue, prop);
+            }
+        } else {
+            set(property, value);
+        }
+    }
+
+    /**
+     * Sets the values of multiple <pre>GObject</pre> properties in a single
+     * native call. Values are converted as for {@link #set(String, Object)}.
+     * Property change notifications are emitted after all properties have
+     * been set. This costs about the same as setting the properties
+     * individually - use it where the changes should be seen together.
+     * <p>
+     * Requires GLib 2.54 or later for the single native call - on earlier
+     * versions the properties are set individually.
+     *
+     * @param properties map of property name to value
+     */
+    public void setAll(Map<String, ?> properties) {
+        LOG.entering("GObject", "setAll", properties);
+        final int n = properties.size();
+        if (n == 0) {
             return;
         }
-        GOBJECT_API.g_param_value_validate(propertySpec, propValue);
-        GOBJECT_API.g_object_set_property(this, property, propValue);
-        GVALUE_API.g_value_unset(propValue); // Release any memory
+        if (!MULTI_PROPERTY_ACCESS) {
+            properties.forEach(this::set);
+            return;
+        }
+        // resolve everything first so an unknown property changes nothing
+        PropertyCache.Property[] props = new PropertyCache.Property[n];
+        GType[] vias = new GType[n];
+        Object[] data = new Object[n];
+        Map<String, Object> untyped = null;
+        int count = 0;
+        for (Map.Entry<String, ?> entry : properties.entrySet()) {
+            PropertyCache.Property prop = findCachedProperty(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof NativeEnum) {
+                value = ((NativeEnum<?>) value).intValue();
+            }
+            GType via = prop.kind == PropertyCache.Kind.OTHER ? prop.writeVia() : null;
+            if (via == GType.INVALID) {
+                if (untyped == null) {
+                    untyped = new LinkedHashMap<>();
+                }
+                untyped.put(entry.getKey(), value);
+                continue;
+            }
+            props[count] = prop;
+            vias[count] = via;
+            data[count] = value;
+            count++;
+        }
+        if (count > 0) {
+            // one native block for all the values, passed by pointer
+            Memory values = PropertyCache.allocate(count);
+            int initialized = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    Pointer value = PropertyCache.valueAt(values, i);
+                    PropertyCache.init(value, props[i].type, props[i].kind);
+                    initialized++;
+                    fillValue(value, props[i].kind, vias[i], data[i]);
+                    GOBJECT_API.g_param_value_validate(props[i].spec, value);
+                }
+                setv(count, props, values);
+            } finally {
+                for (int i = 0; i < initialized; i++) {
+                    if (!props[i].kind.isScalar()) {
+                        GVALUE_API.g_value_unset(PropertyCache.valueAt(values, i));
+                    }
+                }
+            }
+        }
+        if (untyped != null) {
+            // Old behaviour
+            untyped.forEach((name, value) -> GOBJECT_API.g_object_set(this, name, value));
+        }
     }
 
-    protected synchronized <T> void addCallback(Class<T> listenerClass, T listener, GCallback cb) {
-        final Map<Class<?>, Map<Object, GCallback>> signals = getCallbackMap();
-        Map<Object, GCallback> map = signals.computeIfAbsent(listenerClass, k -> new HashMap<>());
-        map.put(listener, cb);
+    /**
+     * Gets the current values of multiple <pre>GObject</pre> properties in a
+     * single native call. Values are converted as for {@link #get(String)}.
+     * <p>
+     * Requires GLib 2.54 or later for the single native call - on earlier
+     * versions the properties are read individually.
+     *
+     * @param properties The names of the properties to get.
+     * @return map of property name to value, in the requested order
+     */
+    public Map<String, Object> getAll(String... properties) {
+        LOG.entering("GObject", "getAll", properties);
+        final int n = properties.length;
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (n == 0) {
+            return result;
+        }
+        PropertyCache.Property[] props = new PropertyCache.Property[n];
+        for (int i = 0; i < n; i++) {
+            props[i] = findCachedProperty(properties[i]);
+        }
+        if (MULTI_PROPERTY_ACCESS) {
+            // g_object_getv initializes each value in the zeroed block
+            Memory values = PropertyCache.allocate(n);
+            try {
+                GOBJECT_API.g_object_getv(this, n, names(props, n), values);
+            } catch (UnsatisfiedLinkError ex) {
+                MULTI_PROPERTY_ACCESS = false;
+                values = null;
+            }
+            if (values != null) {
+                try {
+                    for (int i = 0; i < n; i++) {
+                        Pointer value = PropertyCache.valueAt(values, i);
+                        result.put(properties[i], props[i].kind == PropertyCache.Kind.OTHER
+                                ? convertedValue(props[i], value)
+                                : directValue(props[i], value));
+                    }
+                } finally {
+                    // converted results hold their own references
+                    for (int i = 0; i < n; i++) {
+                        if (!props[i].kind.isScalar()) {
+                            GVALUE_API.g_value_unset(PropertyCache.valueAt(values, i));
+                        }
+                    }
+                }
+                return result;
+            }
+        }
+        for (String property : properties) {
+            result.put(property, get(property));
+        }
+        return result;
+    }
+
+    private void setv(int count, PropertyCache.Property[] props, Memory values) {
+        try {
+            GOBJECT_API.g_object_setv(this, count, names(props, count), values);
+        } catch (UnsatisfiedLinkError ex) {
+            MULTI_PROPERTY_ACCESS = false;
+            for (int i = 0; i < count; i++) {
+                GOBJECT_API.g_object_set_property(this, props[i].name, PropertyCache.valueAt(values, i));
+            }
+        }
+    }
+
+    private static Pointer[] names(PropertyCache.Property[] props, int count) {
+        Pointer[] names = new Pointer[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = props[i].name;
+        }
+        return names;
+    }
+
+    protected <T> void addCallback(Class<T> listenerClass, T listener, GCallback cb) {
+        Map<Class<?>, Listener[]> listenerMap = callbackListeners;
+        if (listenerMap == null) {
+            CALLBACK_LISTENERS.compareAndSet(this, null, new ConcurrentHashMap<>());
+            listenerMap = callbackListeners;
+        }
+        listenerMap.compute(listenerClass, (k, listeners) -> {
+            if (listeners == null) {
+                return new Listener[]{new Listener(listener, cb)};
+            }
+            int index = indexOf(listeners, listener);
+            Listener[] updated = Arrays.copyOf(listeners, index < 0 ? listeners.length + 1 : listeners.length);
+            updated[index < 0 ? listeners.length : index] = new Listener(listener, cb);
+            return updated;
+        });
     }
 
     @Override
@@ -477,26 +727,167 @@ public abstract class GObject extends RefCountedObject {
         }
     }
 
-    protected synchronized <T> void removeCallback(Class<T> listenerClass, T listener) {
-        final Map<Class<?>, Map<Object, GCallback>> signals = getCallbackMap();
-        Map<Object, GCallback> map = signals.get(listenerClass);
-        if (map != null) {
-            GCallback cb = map.remove(listener);
-            if (cb != null) {
-                cb.remove();
+    protected <T> void removeCallback(Class<T> listenerClass, T listener) {
+        final Map<Class<?>, Listener[]> listenerMap = callbackListeners;
+        if (listenerMap == null) {
+            return;
+        }
+        final GCallback[] removed = new GCallback[1];
+        listenerMap.computeIfPresent(listenerClass, (k, listeners) -> {
+            int index = indexOf(listeners, listener);
+            if (index < 0) {
+                return listeners;
             }
-            if (map.isEmpty()) {
-                signals.remove(listenerClass);
-                if (callbackListeners.isEmpty()) {
-                    callbackListeners = null;
-                }
+            removed[0] = listeners[index].callback;
+            if (listeners.length == 1) {
+                return null;
+            }
+            Listener[] updated = new Listener[listeners.length - 1];
+            System.arraycopy(listeners, 0, updated, 0, index);
+            System.arraycopy(listeners, index + 1, updated, index, updated.length - index);
+            return updated;
+        });
+        // disconnect outside of the map update, as this calls into GLib
+        if (removed[0] != null) {
+            removed[0].remove();
+        }
+    }
+
+    private static int indexOf(Listener[] listeners, Object listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].listener.equals(listener)) {
+                return i;
             }
         }
+        return -1;
     }
 
     //    public static <T extends GObject> T objectFor(Pointer ptr, Class<T> defaultClass) {
 //        return objectFor(ptr, defaultClass, true);
 //    }
+    private PropertyCache.Property findCachedProperty(String propertyName) {
+        PropertyCache.Property prop = PropertyCache.find(getRawPointer().getPointer(0), propertyName);
+        if (prop == null) {
+            throw new IllegalArgumentException("Unknown property: " + propertyName);
+        }
+        return prop;
+    }
+
+    private Memory readProperty(PropertyCache.Property prop) {
+        Memory propValue = PropertyCache.acquire(prop);
+        GOBJECT_API.g_object_get_property(this, prop.name, propValue);
+        return propValue;
+    }
+
+    private long readIntegral(PropertyCache.Property prop) {
+        Memory propValue = readProperty(prop);
+        try {
+            return PropertyCache.readIntegral(propValue, prop.kind);
+        } finally {
+            PropertyCache.release(propValue, prop);
+        }
+    }
+
+    private static Object directValue(PropertyCache.Property prop, Pointer propValue) {
+        switch (prop.kind) {
+            case INT:
+            case UINT:
+                return (int) PropertyCache.readIntegral(propValue, prop.kind);
+            case CHAR:
+            case UCHAR:
+                return (int) (byte) PropertyCache.readIntegral(propValue, prop.kind);
+            case LONG:
+            case ULONG:
+            case INT64:
+            case UINT64:
+                return PropertyCache.readIntegral(propValue, prop.kind);
+            case BOOLEAN:
+                return PropertyCache.readBoolean(propValue);
+            case FLOAT:
+                return (float) PropertyCache.readFloating(propValue, prop.kind);
+            case DOUBLE:
+                return PropertyCache.readFloating(propValue, prop.kind);
+            case STRING:
+                return GVALUE_API.g_value_get_string(propValue);
+            case OBJECT:
+                return GVALUE_API.g_value_dup_object(propValue);
+            default:
+                throw new IllegalArgumentException("Unknown conversion from GType=" + prop.type);
+        }
+    }
+
+    private Object getConverted(PropertyCache.Property prop) {
+        Memory propValue = PropertyCache.allocate(1);
+        GVALUE_API.g_value_init(propValue, prop.type);
+        GOBJECT_API.g_object_get_property(this, prop.name, propValue);
+        try {
+            return convertedValue(prop, propValue);
+        } finally {
+            GVALUE_API.g_value_unset(propValue);
+        }
+    }
+
+    private static Object convertedValue(PropertyCache.Property prop, Pointer propValue) {
+        final GType propType = prop.type;
+        GType via = prop.readVia();
+        if (via == GType.OBJECT) {
+            Memory objectValue = transform(propValue, GType.OBJECT);
+            try {
+                return GVALUE_API.g_value_dup_object(objectValue);
+            } finally {
+                GVALUE_API.g_value_unset(objectValue);
+            }
+        } else if (via == GType.INT) {
+            return (int) PropertyCache.readIntegral(transform(propValue, GType.INT), PropertyCache.Kind.INT);
+        } else if (via == GType.INT64) {
+            return PropertyCache.readIntegral(transform(propValue, GType.INT64), PropertyCache.Kind.INT64);
+        } else if (via == GType.BOXED) {
+            Class<? extends NativeObject> cls = GstTypes.classFor(propType);
+            if (cls != null) {
+                Pointer ptr = GVALUE_API.g_value_get_boxed(propValue);
+                return Natives.objectFor(ptr, cls, true, true);
+            }
+        }
+        throw new IllegalArgumentException("Unknown conversion from GType=" + propType);
+    }
+
+    private void writeNumber(String property, PropertyCache.Property prop, long longValue, double doubleValue) {
+        Memory propValue = PropertyCache.acquire(prop);
+        try {
+            if (prop.kind.isIntegral()) {
+                PropertyCache.writeIntegral(propValue, prop.kind, longValue);
+            } else if (prop.kind == PropertyCache.Kind.FLOAT || prop.kind == PropertyCache.Kind.DOUBLE) {
+                PropertyCache.writeFloating(propValue, prop.kind, doubleValue);
+            } else {
+                throw new IllegalArgumentException("Not a numeric property: " + property);
+            }
+            writeProperty(prop, propValue);
+        } finally {
+            PropertyCache.release(propValue, prop);
+        }
+    }
+
+    private static void fillValue(Pointer propValue, PropertyCache.Kind kind, GType via, Object data) {
+        switch (kind) {
+            case STRING:
+                GVALUE_API.g_value_set_string(propValue, stringValue(data));
+                break;
+            case OBJECT:
+                GVALUE_API.g_value_set_object(propValue, (GObject) data);
+                break;
+            case OTHER:
+                transform(data, via, propValue);
+                break;
+            default:
+                setValue(propValue, kind, data);
+        }
+    }
+
+    private void writeProperty(PropertyCache.Property prop, Pointer propValue) {
+        GOBJECT_API.g_param_value_validate(prop.spec, propValue);
+        GOBJECT_API.g_object_set_property(this, prop.name, propValue);
+    }
+
     private GObjectAPI.GParamSpec findProperty(String propertyName) {
         Pointer ptr = GOBJECT_API.g_object_class_find_property(getRawPointer().getPointer(0), propertyName);
         if (ptr == null) {
@@ -535,13 +926,6 @@ public abstract class GObject extends RefCountedObject {
         throw new IllegalArgumentException("Unknown conversion from GType=" + type);
     }
 
-    private synchronized Map<Class<?>, Map<Object, GCallback>> getCallbackMap() {
-        if (callbackListeners == null) {
-            callbackListeners = new ConcurrentHashMap<>();
-        }
-        return callbackListeners;
-    }
-
     private GObjectAPI.GParamSpec[] listProperties() {
         IntByReference len = new IntByReference();
         Pointer ptrs = GOBJECT_API.g_object_class_list_properties(getRawPointer().getPointer(0), len);
@@ -580,10 +964,10 @@ public abstract class GObject extends RefCountedObject {
         public Handle(GObjectPtr ptr, boolean ownsHandle) {
             super(ptr, ownsHandle);
             this.objectID = new IntPtr(System.identityHashCode(this));
-            signals = new HashSet<>();
+            signals = ConcurrentHashMap.newKeySet();
         }
 
-        private synchronized NativeLong connectSignal(String signal, Callback cb) {
+        private NativeLong connectSignal(String signal, Callback cb) {
             NativeLong id = GOBJECT_API.g_signal_connect_data(getPointer(), signal, cb, null, null, 0);
             if (id.longValue() != 0) {
                 signals.add(id);
@@ -591,15 +975,18 @@ public abstract class GObject extends RefCountedObject {
             return id;
         }
 
-        private synchronized void disconnectSignal(NativeLong id) {
+        private void disconnectSignal(NativeLong id) {
             if (signals.remove(id)) {
                 GOBJECT_API.g_signal_handler_disconnect(getPointer(), id);
             }
         }
 
-        private synchronized void clearSignals() {
-            signals.forEach(id -> GOBJECT_API.g_signal_handler_disconnect(getPointer(), id));
-            signals.clear();
+        private void clearSignals() {
+            for (NativeLong id : signals) {
+                if (signals.remove(id)) {
+                    GOBJECT_API.g_signal_handler_disconnect(getPointer(), id);
+                }
+            }
         }
 
         @Override
@@ -670,8 +1057,10 @@ public abstract class GObject extends RefCountedObject {
             if (o == null) {
                 return;
             }
-            LOG.log(LIFECYCLE, "toggle_ref " + o.getClass().getSimpleName()
-                    + " (" + ptr + ")" + " last_ref=" + is_last_ref);
+            if (LOG.isLoggable(LIFECYCLE)) {
+                LOG.log(LIFECYCLE, "toggle_ref " + o.getClass().getSimpleName()
+                        + " (" + ptr + ")" + " last_ref=" + is_last_ref);
+            }
             if (is_last_ref) {
                 STRONG_REFS.remove(o);
             } else {
@@ -703,6 +1092,21 @@ public abstract class GObject extends RefCountedObject {
 
     }
 
+    /**
+     * Registered listener and its connected callback. Arrays of these are
+     * replaced, never modified, on connect and disconnect.
+     */
+    private static final class Listener {
+
+        private final Object listener;
+        private final GCallback callback;
+
+        private Listener(Object listener, GCallback callback) {
+            this.listener = listener;
+            this.callback = callback;
+        }
+    }
+
     private final class SignalCallback extends GCallback {
 
         protected SignalCallback(String signal, Callback cb) {
@@ -19,98 +19,241 @@
 
 package org.freedesktop.gstreamer.glib;
 
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GlibAPI;
+
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.freedesktop.gstreamer.lowlevel.GlibAPI.GLIB_API;
 
 /**
  * Wraps the glib main loop/main context in a ScheduledExecutor interface.
+ * <p>
+ * Tasks are queued on a lock-free queue and run from a single GSource that
+ * stays attached to the context for the life of the executor. The source is
+ * woken by setting its ready time, and runs queued tasks at idle priority for
+ * up to the time budget per main loop iteration, so a burst of tasks will not
+ * starve other sources such as GUI event handling.
+ * <p>
+ * After {@link #shutdown()} no new tasks are accepted, and the executor
+ * terminates once all queued tasks have run, releasing its GSource. As with
+ * the default policy of {@link ScheduledThreadPoolExecutor}, pending delayed
+ * tasks still run after shutdown, while periodic tasks are cancelled.
+ * {@link #shutdownNow()} also cancels pending delayed tasks. Queued tasks are
+ * only run while the context is being iterated.
  */
 public class MainContextExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
-    private final List<Runnable> bgTasks = new LinkedList<>();
-    private final GMainContext context;
-    private final Callable<Boolean> idleCallback = () -> {
-        //            System.out.println("Running g_idle callbacks");
-        List<Runnable> tasks;
-        synchronized (bgTasks) {
-            tasks = new ArrayList<>(bgTasks);
-            bgTasks.clear();
+
+    private static final Logger LOG = Logger.getLogger(MainContextExecutorService.class.getName());
+    private static final long DEFAULT_TIME_BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int G_PRIORITY_DEFAULT_IDLE = 200;
+    private static final int GSOURCE_SIZE = new GlibAPI.GSourceStruct().size();
+    private static final ConcurrentHashMap<Long, MainContextExecutorService> SOURCES = new ConcurrentHashMap<>();
+    private static final GlibAPI.GSourceDispatchFunc DISPATCH = new GlibAPI.GSourceDispatchFunc() {
+
+        {
+            Native.setCallbackThreadInitializer(this,
+                    new CallbackThreadInitializer(true,
+                            Boolean.getBoolean("glib.detachCallbackThreads"),
+                            "GMainContext"));
         }
-        for (Runnable r : tasks) {
-            r.run();
+
+        @Override
+        public boolean callback(Pointer source, Pointer callback, Pointer userData) {
+            MainContextExecutorService exec = SOURCES.get(Pointer.nativeValue(source));
+            return exec != null && exec.dispatch();
         }
-        return false;
     };
-    private GSource idleSource = null;
-    private final boolean running = true;
+    private static final GlibAPI.GSourceFuncs SOURCE_FUNCS = new GlibAPI.GSourceFuncs();
+
+    static {
+        SOURCE_FUNCS.dispatch = DISPATCH;
+        SOURCE_FUNCS.write();
+    }
+
+    private final GMainContext context;
+    private final long timeBudget;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Set<ScheduledTimeout<?>> timeouts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final GSource source;
+    private final Pointer sourcePtr;
+    private final Object lock = new Object();
+    private volatile boolean running = true;
+    private boolean dispatching = false;
 
     public MainContextExecutorService(GMainContext context) {
+        this(context, DEFAULT_TIME_BUDGET, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create an executor running tasks on the given context.
+     *
+     * @param context    main context to run tasks on
+     * @param timeBudget maximum time to spend running queued tasks in each
+     *                   main loop iteration before yielding to other sources
+     * @param units      unit of timeBudget
+     */
+    public MainContextExecutorService(GMainContext context, long timeBudget, TimeUnit units) {
         this.context = context;
+        this.timeBudget = units.toNanos(timeBudget);
+        source = GLIB_API.g_source_new(SOURCE_FUNCS, GSOURCE_SIZE);
+        sourcePtr = source.getRawPointer();
+        GLIB_API.g_source_set_priority(source, G_PRIORITY_DEFAULT_IDLE);
+        SOURCES.put(Pointer.nativeValue(sourcePtr), this);
+        source.attach(context);
     }
 
     public boolean awaitTermination(long timeout, TimeUnit units) throws InterruptedException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return terminated.await(timeout, units);
     }
 
     public void execute(Runnable runnable) {
-        invokeLater(runnable);
+        if (!running) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        tasks.offer(runnable);
+        if (!running && tasks.remove(runnable)) {
+            // lost race with shutdown
+            tryTerminate();
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        wakeup();
     }
 
-
     public boolean isShutdown() {
         return !running;
     }
 
     public boolean isTerminated() {
-        synchronized (bgTasks) {
-            return !isShutdown() && bgTasks.isEmpty();
-        }
+        return terminated.getCount() == 0;
     }
 
     public ScheduledFuture<?> schedule(Runnable runnable, long delay, TimeUnit units) {
-        return new ScheduledTimeout<>(Executors.callable(runnable), delay, units);
+        checkRunning();
+        return checkShutdown(new ScheduledTimeout<>(Executors.callable(runnable), delay, units));
     }
 
     public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit units) {
-        return new ScheduledTimeout<>(callable, delay, units);
+        checkRunning();
+        return checkShutdown(new ScheduledTimeout<>(callable, delay, units));
     }
 
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable runnable, long initialiDelay, long period, TimeUnit units) {
-        return new ScheduledTimeout<>(Executors.callable(runnable), initialiDelay, period, units);
+        checkRunning();
+        return checkShutdown(new ScheduledTimeout<>(Executors.callable(runnable), initialiDelay, period, units));
     }
 
     public ScheduledFuture<?> scheduleWithFixedDelay(Runnable runnable, long initialiDelay, long delay, TimeUnit units) {
-        return new ScheduledTimeout<>(Executors.callable(runnable), initialiDelay, delay, units);
+        checkRunning();
+        return checkShutdown(new ScheduledTimeout<>(Executors.callable(runnable), initialiDelay, delay, units));
     }
 
     public void shutdown() {
-        shutdownNow();
+        running = false;
+        for (ScheduledTimeout<?> timeout : timeouts) {
+            if (timeout.isPeriodic()) {
+                timeout.cancel(false);
+            }
+        }
+        tryTerminate();
     }
 
+    /**
+     * Attempts to stop all actively executing tasks, halts the processing of
+     * waiting tasks, and returns a list of the tasks that were awaiting
+     * execution. Pending delayed and periodic tasks are cancelled, and are
+     * not included in the returned list.
+     *
+     * @return list of tasks that never commenced execution
+     */
     public List<Runnable> shutdownNow() {
-        List<Runnable> tasks;
-        synchronized (bgTasks) {
-            tasks = new ArrayList<>(bgTasks);
-            bgTasks.clear();
-        }
-        return tasks;
-    }
-
-    private void invokeLater(final Runnable r) {
-        //        System.out.println("Scheduling idle callbacks");
-        synchronized (bgTasks) {
-            boolean empty = bgTasks.isEmpty();
-            bgTasks.add(r);
-            // Only trigger the callback if there were no existing elements in the list
-            // otherwise it is already triggered
-            if (empty) {
-                idleSource = GLIB_API.g_idle_source_new();
-                idleSource.setCallback(idleCallback);
-                idleSource.attach(context);
+        running = false;
+        List<Runnable> pending = new ArrayList<>();
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            pending.add(task);
+        }
+        for (ScheduledTimeout<?> timeout : timeouts) {
+            timeout.cancel(false);
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+    }
+
+    private <V> ScheduledFuture<V> checkShutdown(ScheduledTimeout<V> timeout) {
+        if (!running && timeouts.contains(timeout)) {
+            // lost race with shutdown
+            timeout.cancel(false);
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        return timeout;
+    }
+
+    private void wakeup() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            GLIB_API.g_source_set_ready_time(sourcePtr, 0);
+        }
+    }
+
+    private boolean dispatch() {
+        synchronized (lock) {
+            if (isTerminated()) {
+                return false;
             }
+            dispatching = true;
+        }
+        GLIB_API.g_source_set_ready_time(sourcePtr, -1);
+        wakeupPending.set(false);
+        long deadline = System.nanoTime() + timeBudget;
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOG.log(Level.SEVERE, "Exception thrown by main context task", t);
+                }
+                if (System.nanoTime() - deadline >= 0 && !tasks.isEmpty()) {
+                    // out of time - let other sources run and continue next iteration
+                    wakeup();
+                    break;
+                }
+            }
+        } finally {
+            synchronized (lock) {
+                dispatching = false;
+            }
+        }
+        if (!running) {
+            tryTerminate();
+        }
+        return true;
+    }
+
+    private void tryTerminate() {
+        synchronized (lock) {
+            if (running || dispatching || !tasks.isEmpty() || !timeouts.isEmpty() || isTerminated()) {
+                return;
+            }
+            SOURCES.remove(Pointer.nativeValue(sourcePtr));
+            GLIB_API.g_source_destroy(source);
+            terminated.countDown();
         }
     }
 
@@ -119,17 +262,26 @@ public class MainContextExecutorService extends AbstractExecutorService implemen
         private final TimeUnit units;
         private volatile GSource source;
         private final Callable<Boolean> periodCallback = () -> {
+            if (!running) {
+                // periodic tasks do not continue after shutdown
+                cancel(false);
+                return false;
+            }
             runAndReset();
             return !isCancelled();
         };
         private final Callable<Boolean> delayCallback = new Callable<>() {
             public Boolean call() {
                 // Now start the periodic timer
-                if (period != 0 && !isCancelled()) {
+                if (period != 0 && !isCancelled() && running) {
                     start(period, periodCallback);
                 }
                 // If periodic, don't bother returning a result
                 if (period != 0) {
+                    if (!running) {
+                        cancel(false);
+                        return false;
+                    }
                     runAndReset();
                 } else {
                     run();
@@ -147,9 +299,28 @@ public class MainContextExecutorService extends AbstractExecutorService implemen
 
             this.period = period;
             this.units = units;
+            // tracked before the source is attached, so it cannot complete first
+            timeouts.add(this);
             start(delay, delayCallback);
         }
 
+        boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        protected void done() {
+            // completed or cancelled - release the timeout source
+            timeouts.remove(this);
+            GSource s = source;
+            if (s != null) {
+                GLIB_API.g_source_destroy(s);
+            }
+            if (!running) {
+                tryTerminate();
+            }
+        }
+
         private int getMilliseconds(long time) {
             return (int) units.toMillis(time);
         }
@@ -25,13 +25,10 @@ import org.freedesktop.gstreamer.lowlevel.GTypedPtr;
 import org.freedesktop.gstreamer.lowlevel.GstTypes;
 
 import java.lang.ref.Cleaner;
-import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
 import java.util.ServiceLoader;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -46,7 +43,7 @@ public abstract class NativeObject implements AutoCloseable {
 
     private static final Level LIFECYCLE = Level.FINE;
     private static final Logger LOG = Logger.getLogger(NativeObject.class.getName());
-    private static final ConcurrentMap<Pointer, WeakReference<NativeObject>> INSTANCES = new ConcurrentHashMap<>();
+    private static final NativeObjectTable INSTANCES = new NativeObjectTable();
     private static final Cleaner CLEANER = Cleaner.create();
 
     final Handle handle;
@@ -56,10 +53,20 @@ public abstract class NativeObject implements AutoCloseable {
     protected NativeObject(Handle handle) {
         this.handle = Objects.requireNonNull(handle);
         this.ptr = handle.ptrRef.get().getPointer();
-        if (handle.isCacheable()) {
-            INSTANCES.put(this.ptr, new WeakReference<>(this));
+        NativeScope scope = handle.isScopeable() ? NativeScope.current() : null;
+        if (scope != null) {
+            // disposed by the scope - no cleaner required, and not shared
+            // through the instance table, as other threads must not be handed
+            // a wrapper the scope will dispose
+            this.cleanable = null;
+            scope.track(this);
+        } else {
+            if (handle.isCacheable()) {
+                INSTANCES.put(Pointer.nativeValue(this.ptr), this);
+                handle.registered = true;
+            }
+            this.cleanable = CLEANER.register(this, new CleanupAction(handle, ptr));
         }
-        this.cleanable = CLEANER.register(this, new CleanupAction(handle, ptr));
     }
 
     private static final class CleanupAction implements Runnable {
@@ -133,15 +140,8 @@ public abstract class NativeObject implements AutoCloseable {
     }
 
     static NativeObject instanceFor(Pointer ptr) {
-        WeakReference<NativeObject> ref = INSTANCES.get(ptr);
-
-        //
-        // If the reference was there, but the object it pointed to had been collected, remove it from the map
-        //
-        if (ref != null && ref.get() == null) {
-            INSTANCES.remove(ptr);
-        }
-        return ref != null ? ref.get() : null;
+        // entries for collected objects are expunged from the table in batches
+        return INSTANCES.get(Pointer.nativeValue(ptr));
     }
 
     /**
@@ -175,7 +175,11 @@ public abstract class NativeObject implements AutoCloseable {
      */
     public void dispose() {
         LOG.log(LIFECYCLE, "Disposing object " + getClass().getName() + " = " + handle);
-        cleanable.clean();
+        if (cleanable != null) {
+            cleanable.clean();
+        } else {
+            handle.dispose();
+        }
     }
 
     @Override
@@ -261,6 +265,8 @@ public abstract class NativeObject implements AutoCloseable {
 
         private final AtomicReference<GPointer> ptrRef;
         private final AtomicBoolean ownsReference;
+        // whether the wrapper is registered in the instance table
+        private volatile boolean registered;
 
         /**
          * Construct a Handle for the supplied native reference.
@@ -293,8 +299,8 @@ public abstract class NativeObject implements AutoCloseable {
         public void invalidate() {
             GPointer ptr = ptrRef.getAndSet(null);
             ownsReference.set(false);
-            if (ptr != null) {
-                INSTANCES.remove(ptr.getPointer());
+            if (ptr != null && registered) {
+                INSTANCES.remove(Pointer.nativeValue(ptr.getPointer()));
             }
         }
 
@@ -308,7 +314,9 @@ public abstract class NativeObject implements AutoCloseable {
         public void dispose() {
             GPointer ptr = ptrRef.getAndSet(null);
             if (ptr != null) {
-                INSTANCES.remove(ptr.getPointer());
+                if (registered) {
+                    INSTANCES.remove(Pointer.nativeValue(ptr.getPointer()));
+                }
                 if (ownsReference.compareAndSet(true, false)) {
                     disposeNativeHandle(ptr);
                 }
@@ -332,6 +340,21 @@ public abstract class NativeObject implements AutoCloseable {
             return true;
         }
 
+        /**
+         * Control whether a NativeObject wrapping this Handle that is created
+         * while a {@link NativeScope} is open should be tracked and disposed
+         * by the scope rather than registered for automatic disposal when
+         * garbage collected.
+         * <p>
+         * The default implementation returns {@code false}. Subclasses for
+         * short-lived objects may override this behaviour.
+         *
+         * @return true if the NativeObject may be tracked by a scope
+         */
+        public boolean isScopeable() {
+            return false;
+        }
+
         /**
          * Subclasses should override this method to dispose of the native
          * reference (free, unref, etc.). The pointer supplied should be used -
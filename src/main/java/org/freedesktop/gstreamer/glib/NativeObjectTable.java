@@ -0,0 +1,224 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer.glib;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Table of weakly referenced NativeObject instances keyed by native address.
+ * <p>
+ * The table is split into lock-striped segments, each an open addressing
+ * hash table of weak references that also carry their address. Lookups do
+ * not lock or allocate. Writes lock a single segment. References to
+ * collected objects are enqueued on a ReferenceQueue and removed in batches
+ * when entries are added, rather than being checked on lookup.
+ */
+final class NativeObjectTable {
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+    private static final int MAX_EXPUNGE_BATCH = 256;
+    private static final Entry TOMBSTONE = new Entry(0, null, null);
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final ReferenceQueue<NativeObject> queue = new ReferenceQueue<>();
+
+    NativeObjectTable() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    NativeObjectTable(int concurrency) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 64)) * 2 - 1);
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        segmentMask = count - 1;
+    }
+
+    /**
+     * Get the live instance for the address, or null.
+     */
+    NativeObject get(long address) {
+        long hash = hash(address);
+        AtomicReferenceArray<Entry> table = segmentFor(hash).table;
+        int mask = table.length() - 1;
+        int i = (int) hash & mask;
+        Entry e;
+        while ((e = table.get(i)) != null) {
+            if (e.address == address && e != TOMBSTONE) {
+                return e.get();
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Add an instance for the address, replacing any existing entry.
+     */
+    void put(long address, NativeObject obj) {
+        expungeStaleEntries();
+        long hash = hash(address);
+        segmentFor(hash).put(hash, new Entry(address, obj, queue));
+    }
+
+    /**
+     * Remove any entry for the address.
+     */
+    void remove(long address) {
+        long hash = hash(address);
+        segmentFor(hash).remove(hash, address, null);
+    }
+
+    /**
+     * Number of entries, including any whose instance has been collected but
+     * not yet expunged.
+     */
+    int size() {
+        int size = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                size += s.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Remove entries for collected instances that have been enqueued.
+     */
+    void expungeStaleEntries() {
+        Entry e;
+        int count = 0;
+        while (count++ < MAX_EXPUNGE_BATCH && (e = (Entry) queue.poll()) != null) {
+            long hash = hash(e.address);
+            segmentFor(hash).remove(hash, e.address, e);
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        // slots are indexed by the low bits of the hash
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    private static long hash(long address) {
+        // murmur3 finalizer - native addresses have low bits clear
+        long h = address;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Entry extends WeakReference<NativeObject> {
+
+        private final long address;
+
+        private Entry(long address, NativeObject referent, ReferenceQueue<NativeObject> queue) {
+            super(referent, queue);
+            this.address = address;
+        }
+
+    }
+
+    private static final class Segment {
+
+        private volatile AtomicReferenceArray<Entry> table
+                = new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+        // guarded by this
+        private int size;
+        private int tombstones;
+
+        private synchronized void put(long hash, Entry entry) {
+            AtomicReferenceArray<Entry> tab = table;
+            int mask = tab.length() - 1;
+            int i = (int) hash & mask;
+            int free = -1;
+            Entry e;
+            while ((e = tab.get(i)) != null) {
+                if (e == TOMBSTONE) {
+                    if (free < 0) {
+                        free = i;
+                    }
+                } else if (e.address == entry.address) {
+                    tab.set(i, entry);
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            if (free >= 0) {
+                tab.set(free, entry);
+                tombstones--;
+            } else {
+                tab.set(i, entry);
+            }
+            size++;
+            if ((size + tombstones) * 4 > tab.length() * 3) {
+                rehash(tab);
+            }
+        }
+
+        /**
+         * Remove the entry for address, or only the given entry if not null.
+         */
+        private synchronized void remove(long hash, long address, Entry expected) {
+            AtomicReferenceArray<Entry> tab = table;
+            int mask = tab.length() - 1;
+            int i = (int) hash & mask;
+            Entry e;
+            while ((e = tab.get(i)) != null) {
+                if (e != TOMBSTONE && e.address == address) {
+                    if (expected == null || e == expected) {
+                        tab.set(i, TOMBSTONE);
+                        size--;
+                        tombstones++;
+                    }
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void rehash(AtomicReferenceArray<Entry> old) {
+            int capacity = INITIAL_SEGMENT_CAPACITY;
+            while (size * 2 > capacity) {
+                capacity <<= 1;
+            }
+            AtomicReferenceArray<Entry> tab = new AtomicReferenceArray<>(capacity);
+            int mask = capacity - 1;
+            for (int j = 0; j < old.length(); j++) {
+                Entry e = old.get(j);
+                if (e != null && e != TOMBSTONE) {
+                    int i = (int) hash(e.address) & mask;
+                    while (tab.get(i) != null) {
+                        i = (i + 1) & mask;
+                    }
+                    tab.set(i, e);
+                }
+            }
+            tombstones = 0;
+            table = tab;
+        }
+
+    }
+
+}
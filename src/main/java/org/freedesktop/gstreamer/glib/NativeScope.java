@@ -0,0 +1,158 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer.glib;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A scope for short-lived native object wrappers, for use with
+ * try-with-resources.
+ * <p>
+ * While a scope is open on a thread, wrappers for reference counted
+ * lightweight objects (buffers, samples, events, messages, etc.) that are
+ * created on that thread are tracked by the scope instead of being registered
+ * with the garbage collection cleaner, and are all disposed when the scope is
+ * closed. This avoids the cost of cleaner registration for wrappers that only
+ * live for the duration of a callback.
+ * <pre>{@code
+ * try (NativeScope scope = NativeScope.open()) {
+ *     Sample sample = appsink.pullSample();
+ *     ...
+ * }
+ * }</pre>
+ * Wrappers created in a scope must not be used after it is closed. Wrappers
+ * created outside any scope, or that already existed, are not affected.
+ * Wrappers created in a scope are private to it - they are never returned
+ * for the same native object elsewhere, whether on another thread or by the
+ * bindings themselves.
+ * Scopes may be nested, and must be closed in reverse order on the thread
+ * that opened them.
+ */
+public final class NativeScope implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(NativeScope.class.getName());
+    private static final ThreadLocal<NativeScope> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger OPEN_SCOPES = new AtomicInteger();
+
+    private final NativeScope parent;
+    private final Thread owner;
+    private NativeObject[] objects = new NativeObject[16];
+    private int count;
+    private boolean closed;
+
+    private NativeScope(NativeScope parent) {
+        this.parent = parent;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Open a new scope on the current thread.
+     *
+     * @return scope
+     */
+    public static NativeScope open() {
+        NativeScope scope = new NativeScope(CURRENT.get());
+        CURRENT.set(scope);
+        OPEN_SCOPES.incrementAndGet();
+        return scope;
+    }
+
+    /**
+     * The innermost open scope on the current thread, or null.
+     */
+    static NativeScope current() {
+        // avoid the thread local lookup when no scope is open anywhere
+        return OPEN_SCOPES.get() == 0 ? null : CURRENT.get();
+    }
+
+    /**
+     * Call the supplier with no scope in effect on the current thread, so that
+     * wrappers it creates are not tracked by a scope the caller has open.
+     */
+    static <T> T unscoped(Supplier<T> supplier) {
+        NativeScope scope = current();
+        if (scope == null) {
+            return supplier.get();
+        }
+        CURRENT.remove();
+        try {
+            return supplier.get();
+        } finally {
+            CURRENT.set(scope);
+        }
+    }
+
+    void track(NativeObject obj) {
+        if (count == objects.length) {
+            objects = Arrays.copyOf(objects, count * 2);
+        }
+        objects[count++] = obj;
+    }
+
+    /**
+     * Get the number of wrappers tracked by this scope.
+     *
+     * @return tracked wrapper count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Dispose all wrappers created in this scope, in reverse order of
+     * creation.
+     *
+     * @throws IllegalStateException if called on a different thread, or if a
+     *                               nested scope is still open
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("NativeScope must be closed by the thread that opened it");
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Nested NativeScope still open");
+        }
+        closed = true;
+        try {
+            for (int i = count - 1; i >= 0; i--) {
+                try {
+                    objects[i].dispose();
+                } catch (Throwable t) {
+                    LOG.log(Level.WARNING, "Exception disposing scoped object", t);
+                }
+                objects[i] = null;
+            }
+            count = 0;
+        } finally {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+            OPEN_SCOPES.decrementAndGet();
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import org.freedesktop.gstreamer.lowlevel.GstStructurePtr;
 
 import java.util.ServiceLoader;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * <b>Here be Dragons!</b>
@@ -159,6 +160,23 @@ public final class Natives {
         return NativeObject.objectFor(ptr, cls, -1, true);
     }
 
+    /**
+     * Call the supplier with no {@link NativeScope} in effect on the current
+     * thread. Wrappers created by the supplier are registered as normal even
+     * if the caller has a scope open.
+     * <p>
+     * For use by code that wraps native objects on behalf of other threads or
+     * of callbacks, where the wrapper must outlive any scope that happens to
+     * be open on the calling thread.
+     *
+     * @param <T>      result type
+     * @param supplier supplier to call
+     * @return supplier result
+     */
+    public static <T> T unscoped(Supplier<T> supplier) {
+        return NativeScope.unscoped(supplier);
+    }
+
     private static <T extends NativeObject> T objectFor(Pointer ptr, Class<T> cls, int refAdjust, boolean ownsHandle) {
         final GPointer gptr = GObject.class.isAssignableFrom(cls) ? new GObjectPtr(ptr)
                 : MiniObject.class.isAssignableFrom(cls) ? new GstMiniObjectPtr(ptr)
@@ -0,0 +1,359 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.glib;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GObjectAPI.GParamSpec;
+import org.freedesktop.gstreamer.lowlevel.GType;
+import org.freedesktop.gstreamer.lowlevel.GValueAPI.GValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.freedesktop.gstreamer.lowlevel.GObjectAPI.GOBJECT_API;
+import static org.freedesktop.gstreamer.lowlevel.GValueAPI.GVALUE_API;
+
+/**
+ * Cache of GObject property specs and their value conversions, keyed by the
+ * native GObjectClass. Param specs are installed during class initialization
+ * and never removed, so entries are never invalidated.
+ * <p>
+ * Also provides per-thread reuse of native GValue memory for property access.
+ * Values are passed to native code as plain pointers rather than as JNA
+ * Structures, and values of the fundamental scalar types are initialized,
+ * read, written and unset directly in memory, as the GLib value table does
+ * for those types.
+ */
+final class PropertyCache {
+
+    /**
+     * Size of a native GValue, in bytes.
+     */
+    static final int VALUE_SIZE = new GValue().size();
+    // the data union of two 8-byte members follows the GType
+    private static final int DATA_OFFSET = VALUE_SIZE - 16;
+
+    private static final Map<Long, Map<String, Property>> CLASSES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Memory[]> VALUES = ThreadLocal.withInitial(() -> new Memory[1]);
+
+    private PropertyCache() {
+    }
+
+    /**
+     * Find the property of the given GObjectClass.
+     *
+     * @param gclass native GObjectClass pointer
+     * @param name   property name
+     * @return property, or null if the class has no such property
+     */
+    static Property find(Pointer gclass, String name) {
+        long key = Pointer.nativeValue(gclass);
+        Map<String, Property> properties = CLASSES.get(key);
+        if (properties == null) {
+            properties = CLASSES.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        Property property = properties.get(name);
+        if (property == null) {
+            Pointer spec = GOBJECT_API.g_object_class_find_property(gclass, name);
+            if (spec == null) {
+                return null;
+            }
+            property = properties.computeIfAbsent(name, k -> new Property(spec));
+        }
+        return property;
+    }
+
+    /**
+     * Acquire a GValue initialized for the given property. The value should
+     * be returned with {@link #release(Memory, Property)}, which unsets it.
+     *
+     * @param prop property
+     * @return initialized GValue
+     */
+    static Memory acquire(Property prop) {
+        Memory[] slot = VALUES.get();
+        Memory value = slot[0];
+        if (value == null) {
+            value = allocate(1);
+        } else {
+            // property access may re-enter on this thread
+            slot[0] = null;
+        }
+        init(value, prop.type, prop.kind);
+        return value;
+    }
+
+    static void release(Memory value, Property prop) {
+        unset(value, prop.kind);
+        VALUES.get()[0] = value;
+    }
+
+    /**
+     * Allocate zeroed memory for an array of GValues.
+     *
+     * @param count number of values
+     * @return uninitialized GValues
+     */
+    static Memory allocate(int count) {
+        Memory values = new Memory((long) VALUE_SIZE * count);
+        values.clear();
+        return values;
+    }
+
+    /**
+     * Pointer to a value in an array allocated with {@link #allocate(int)}.
+     *
+     * @param values GValue array
+     * @param index  value index
+     * @return value
+     */
+    static Pointer valueAt(Memory values, int index) {
+        return values.share((long) VALUE_SIZE * index, VALUE_SIZE);
+    }
+
+    static void init(Pointer value, GType type, Kind kind) {
+        if (kind.isScalar()) {
+            if (GType.SIZE == 8) {
+                value.setLong(0, type.longValue());
+            } else {
+                value.setInt(0, type.intValue());
+            }
+        } else {
+            GVALUE_API.g_value_init(value, type);
+        }
+    }
+
+    static void unset(Pointer value, Kind kind) {
+        if (kind.isScalar()) {
+            value.setMemory(0, VALUE_SIZE, (byte) 0);
+        } else {
+            GVALUE_API.g_value_unset(value);
+        }
+    }
+
+    /**
+     * Read an integral scalar value, zero-extending unsigned types that are
+     * narrower than a long.
+     *
+     * @param value GValue
+     * @param kind  integral kind
+     * @return value
+     */
+    static long readIntegral(Pointer value, Kind kind) {
+        switch (kind) {
+            case INT:
+                return value.getInt(DATA_OFFSET);
+            case UINT:
+                return value.getInt(DATA_OFFSET) & 0xFFFFFFFFL;
+            case CHAR:
+                return (byte) value.getInt(DATA_OFFSET);
+            case UCHAR:
+                return value.getInt(DATA_OFFSET) & 0xFF;
+            case LONG:
+                return value.getNativeLong(DATA_OFFSET).longValue();
+            case ULONG:
+                long ulong = value.getNativeLong(DATA_OFFSET).longValue();
+                return Native.LONG_SIZE == 4 ? ulong & 0xFFFFFFFFL : ulong;
+            case INT64:
+            case UINT64:
+                return value.getLong(DATA_OFFSET);
+            default:
+                throw new IllegalArgumentException("Not an integral kind: " + kind);
+        }
+    }
+
+    static void writeIntegral(Pointer value, Kind kind, long v) {
+        switch (kind) {
+            case INT:
+            case UINT:
+                value.setInt(DATA_OFFSET, (int) v);
+                break;
+            case CHAR:
+                value.setInt(DATA_OFFSET, (byte) v);
+                break;
+            case UCHAR:
+                value.setInt(DATA_OFFSET, (int) v & 0xFF);
+                break;
+            case LONG:
+            case ULONG:
+                value.setNativeLong(DATA_OFFSET, new NativeLong(v));
+                break;
+            case INT64:
+            case UINT64:
+                value.setLong(DATA_OFFSET, v);
+                break;
+            default:
+                throw new IllegalArgumentException("Not an integral kind: " + kind);
+        }
+    }
+
+    static double readFloating(Pointer value, Kind kind) {
+        return kind == Kind.FLOAT ? value.getFloat(DATA_OFFSET) : value.getDouble(DATA_OFFSET);
+    }
+
+    static void writeFloating(Pointer value, Kind kind, double v) {
+        if (kind == Kind.FLOAT) {
+            value.setFloat(DATA_OFFSET, (float) v);
+        } else {
+            value.setDouble(DATA_OFFSET, v);
+        }
+    }
+
+    static boolean readBoolean(Pointer value) {
+        return value.getInt(DATA_OFFSET) != 0;
+    }
+
+    static void writeBoolean(Pointer value, boolean v) {
+        value.setInt(DATA_OFFSET, v ? 1 : 0);
+    }
+
+    /**
+     * Value type categories with a direct GValue accessor.
+     */
+    enum Kind {
+        INT, UINT, CHAR, UCHAR, LONG, ULONG, INT64, UINT64,
+        BOOLEAN, FLOAT, DOUBLE, STRING, OBJECT, OTHER;
+
+        boolean isIntegral() {
+            return ordinal() <= UINT64.ordinal();
+        }
+
+        boolean isNumeric() {
+            return isIntegral() || this == FLOAT || this == DOUBLE;
+        }
+
+        /**
+         * Whether values of this kind are held directly in the GValue, and
+         * need no native initialization or release.
+         */
+        boolean isScalar() {
+            return ordinal() <= DOUBLE.ordinal();
+        }
+
+        static Kind of(GType type) {
+            if (type.equals(GType.INT)) {
+                return INT;
+            } else if (type.equals(GType.UINT)) {
+                return UINT;
+            } else if (type.equals(GType.CHAR)) {
+                return CHAR;
+            } else if (type.equals(GType.UCHAR)) {
+                return UCHAR;
+            } else if (type.equals(GType.LONG)) {
+                return LONG;
+            } else if (type.equals(GType.ULONG)) {
+                return ULONG;
+            } else if (type.equals(GType.INT64)) {
+                return INT64;
+            } else if (type.equals(GType.UINT64)) {
+                return UINT64;
+            } else if (type.equals(GType.BOOLEAN)) {
+                return BOOLEAN;
+            } else if (type.equals(GType.FLOAT)) {
+                return FLOAT;
+            } else if (type.equals(GType.DOUBLE)) {
+                return DOUBLE;
+            } else if (type.equals(GType.STRING)) {
+                return STRING;
+            } else if (type.equals(GType.OBJECT)) {
+                return OBJECT;
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * A resolved property.
+     */
+    static final class Property {
+
+        final Pointer spec;
+        // the interned name in the param spec, passed without copying
+        final Pointer name;
+        final GType type;
+        final Kind kind;
+
+        // for Kind.OTHER, resolved on first use
+        private volatile GType readVia;
+        private volatile GType writeVia;
+
+        private Property(Pointer spec) {
+            this.spec = spec;
+            this.name = spec.getPointer(Native.POINTER_SIZE);
+            this.type = new GParamSpec(spec).value_type;
+            this.kind = Kind.of(type);
+        }
+
+        /**
+         * The type a value of this property can be read as, for properties
+         * without a direct accessor - one of {@link GType#OBJECT},
+         * {@link GType#INT}, {@link GType#INT64}, {@link GType#BOXED}, or
+         * {@link GType#INVALID} if there is no known conversion.
+         *
+         * @return type to read via
+         */
+        GType readVia() {
+            GType via = readVia;
+            if (via == null) {
+                if (GVALUE_API.g_value_type_transformable(type, GType.OBJECT)) {
+                    via = GType.OBJECT;
+                } else if (GVALUE_API.g_value_type_transformable(type, GType.INT)) {
+                    via = GType.INT;
+                } else if (GVALUE_API.g_value_type_transformable(type, GType.INT64)) {
+                    via = GType.INT64;
+                } else if (GOBJECT_API.g_type_is_a(type, GType.BOXED)) {
+                    via = GType.BOXED;
+                } else {
+                    via = GType.INVALID;
+                }
+                readVia = via;
+            }
+            return via;
+        }
+
+        /**
+         * The type a value for this property can be transformed from, for
+         * properties without a direct accessor, or {@link GType#INVALID} if
+         * there is no known conversion.
+         *
+         * @return type to write via
+         */
+        GType writeVia() {
+            GType via = writeVia;
+            if (via == null) {
+                if (GVALUE_API.g_value_type_transformable(GType.INT64, type)) {
+                    via = GType.INT64;
+                } else if (GVALUE_API.g_value_type_transformable(GType.LONG, type)) {
+                    via = GType.LONG;
+                } else if (GVALUE_API.g_value_type_transformable(GType.INT, type)) {
+                    via = GType.INT;
+                } else if (GVALUE_API.g_value_type_transformable(GType.DOUBLE, type)) {
+                    via = GType.DOUBLE;
+                } else if (GVALUE_API.g_value_type_transformable(GType.FLOAT, type)) {
+                    via = GType.FLOAT;
+                } else {
+                    via = GType.INVALID;
+                }
+                writeVia = via;
+            }
+            return via;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.glib;
+
+import org.freedesktop.gstreamer.lowlevel.GType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.freedesktop.gstreamer.lowlevel.GSignalAPI.GSIGNAL_API;
+
+/**
+ * Cache of parsed signal IDs and detail quarks, keyed by GType and detailed
+ * signal name. Signals are registered during class initialization and never
+ * removed, so entries are never invalidated.
+ */
+final class SignalCache {
+
+    private static final Map<Long, Map<String, Signal>> TYPES = new ConcurrentHashMap<>();
+
+    private SignalCache() {
+    }
+
+    /**
+     * Find the signal of the given type.
+     *
+     * @param type instance type
+     * @param name signal name, optionally with a "::detail" suffix
+     * @return signal, or null if the type has no such signal
+     */
+    static Signal find(GType type, String name) {
+        Map<String, Signal> signals = TYPES.computeIfAbsent(type.longValue(),
+                k -> new ConcurrentHashMap<>());
+        Signal signal = signals.get(name);
+        if (signal == null) {
+            int[] id = new int[1];
+            int[] detail = new int[1];
+            if (!GSIGNAL_API.g_signal_parse_name(name, type, id, detail, true)) {
+                return null;
+            }
+            signal = signals.computeIfAbsent(name, k -> new Signal(id[0], new GQuark(detail[0])));
+        }
+        return signal;
+    }
+
+    static final class Signal {
+
+        final int id;
+        final GQuark detail;
+
+        private Signal(int id, GQuark detail) {
+            this.id = id;
+            this.detail = detail;
+        }
+    }
+
+}
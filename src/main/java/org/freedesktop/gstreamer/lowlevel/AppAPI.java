@@ -20,16 +20,25 @@
 
 package org.freedesktop.gstreamer.lowlevel;
 
+import com.sun.jna.Pointer;
 import com.sun.jna.ptr.LongByReference;
 import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.BufferList;
 import org.freedesktop.gstreamer.Caps;
 import org.freedesktop.gstreamer.FlowReturn;
 import org.freedesktop.gstreamer.Sample;
 import org.freedesktop.gstreamer.elements.AppSink;
 import org.freedesktop.gstreamer.elements.AppSrc;
+import org.freedesktop.gstreamer.lowlevel.GlibAPI.GDestroyNotify;
+import org.freedesktop.gstreamer.lowlevel.GstAPI.GstCallback;
 import org.freedesktop.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 import org.freedesktop.gstreamer.lowlevel.annotations.Invalidate;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.freedesktop.gstreamer.lowlevel.GstAPI.GST_PADDING;
+
 /**
  * @author wayne
  */
@@ -57,6 +66,8 @@ public interface AppAPI extends com.sun.jna.Library {
 
     long gst_app_src_get_max_bytes(AppSrc appsrc);
 
+    long gst_app_src_get_current_level_bytes(AppSrc appsrc);
+
     void gst_app_src_set_latency(AppSrc appsrc, long min, long max);
 
     void gst_app_src_get_latency(AppSrc appsrc, LongByReference min, LongByReference max);
@@ -65,6 +76,9 @@ public interface AppAPI extends com.sun.jna.Library {
 
     FlowReturn gst_app_src_push_buffer(AppSrc appsrc, @Invalidate Buffer buffer);
 
+    // since 1.14
+    FlowReturn gst_app_src_push_buffer_list(AppSrc appsrc, @Invalidate BufferList list);
+
     FlowReturn gst_app_src_end_of_stream(AppSrc appsrc);
 
     // AppSink functions
@@ -82,4 +96,52 @@ public interface AppAPI extends com.sun.jna.Library {
 
     @CallerOwnsReturn
     Sample gst_app_sink_pull_sample(AppSink appsink);
+
+    // since 1.10
+    @CallerOwnsReturn
+    Sample gst_app_sink_try_pull_preroll(AppSink appsink, long timeout);
+
+    // since 1.10
+    @CallerOwnsReturn
+    Sample gst_app_sink_try_pull_sample(AppSink appsink, long timeout);
+
+    void gst_app_sink_set_callbacks(AppSink appsink, AppSinkCallbacks callbacks,
+                                    Pointer user_data, GDestroyNotify notify);
+
+    interface AppSinkEOSCallback extends GstCallback {
+        void callback(Pointer appsink, Pointer user_data);
+    }
+
+    interface AppSinkNewSampleCallback extends GstCallback {
+        FlowReturn callback(Pointer appsink, Pointer user_data);
+    }
+
+    /**
+     * GstAppSinkCallbacks:
+     * <p>
+     * eos: Called when the end-of-stream has been reached.
+     * new_preroll: Called when a new preroll sample is available.
+     * new_sample: Called when a new sample is available.
+     * <p>
+     * Later GStreamer versions add further callbacks in place of the reserved
+     * padding, so the structure size is stable and unused slots are left NULL.
+     *
+     * @see <a href="https://cgit.freedesktop.org/gstreamer/gst-plugins-base/tree/gst-libs/gst/app/gstappsink.h?h=1.8"></a>
+     */
+    final class AppSinkCallbacks extends com.sun.jna.Structure {
+        public AppSinkEOSCallback eos;
+        public AppSinkNewSampleCallback new_preroll;
+        public AppSinkNewSampleCallback new_sample;
+
+        /*< private >*/
+        public Pointer[] _gst_reserved = new Pointer[GST_PADDING];
+
+        public AppSinkCallbacks() {
+        }
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("eos", "new_preroll", "new_sample", "_gst_reserved");
+        }
+    }
 }
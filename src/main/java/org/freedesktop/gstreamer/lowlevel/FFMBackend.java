@@ -0,0 +1,33 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+/**
+ * Factory for the {@code java.lang.foreign} {@link NativeBackend}.
+ * <p>
+ * This is the Java 17 base version, which always fails. The implementation
+ * is in the Java 22 layer of the multi-release jar.
+ */
+final class FFMBackend {
+
+    private FFMBackend() {
+    }
+
+    static NativeBackend create() {
+        throw new UnsupportedOperationException("The FFM native backend requires Java 22 or later");
+    }
+
+}
@@ -27,6 +27,9 @@ import com.sun.jna.Platform;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -93,7 +96,7 @@ public final class GNative {
         search:
         for (Method m : interfaceClass.getMethods())
             for (Class<?> cls : m.getParameterTypes())
-                if (cls.isArray() && getConverter(cls.getComponentType()) != null) {
+                if (isConvertedArray(cls)) {
                     needCustom = true;
                     break search;
                 }
@@ -103,7 +106,7 @@ public final class GNative {
         return interfaceClass.cast(
                 Proxy.newProxyInstance(interfaceClass.getClassLoader(),
                         new Class[]{interfaceClass},
-                        new Handler<>(library, options)));
+                        new Handler<>(library, interfaceClass, options)));
     }
 
     public static synchronized NativeLibrary getNativeLibrary(String name) {
@@ -125,6 +128,11 @@ public final class GNative {
     }
 
 
+    private static boolean isConvertedArray(Class<?> type) {
+        return type.isArray() && !type.getComponentType().isPrimitive()
+                && getConverter(type.getComponentType()) != null;
+    }
+
     private interface Converter {
         Class<?> nativeType();
 
@@ -155,10 +163,20 @@ public final class GNative {
         private final InvocationHandler proxy;
         @SuppressWarnings({"unused", "FieldCanBeLocal"}) // Keep a reference to stop underlying Library being GC'd
         private final T library;
+        // argument conversions for each interface method, computed once
+        private final Map<Method, ArrayArg[]> plans;
 
-        public Handler(T library, Map<String, ?> options) {
+        public Handler(T library, Class<T> interfaceClass, Map<String, ?> options) {
             this.library = library;
             this.proxy = Proxy.getInvocationHandler(library);
+            Map<Method, ArrayArg[]> map = new HashMap<>();
+            for (Method m : interfaceClass.getMethods()) {
+                ArrayArg[] plan = plan(m);
+                if (plan != null) {
+                    map.put(m, plan);
+                }
+            }
+            this.plans = map;
         }
 
         private static ArrayIO getArrayIO(final Class<?> cls) {
@@ -169,31 +187,58 @@ public final class GNative {
             throw new IllegalArgumentException("No such conversion");
         }
 
-        @SuppressWarnings("null")
-        public Object invoke(Object self, Method method, Object[] args) throws Throwable {
-            int lastArg = args != null ? args.length : 0;
+        /**
+         * Find the arguments of a method that may need array conversion, or
+         * null if the method can be passed straight to the native function.
+         */
+        private static ArrayArg[] plan(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            int lastArg = types.length;
             if (method.isVarArgs())
                 --lastArg;
+            List<ArrayArg> args = new ArrayList<>();
+            for (int i = 0; i < lastArg; ++i) {
+                Class<?> type = types[i];
+                if (type == Object.class) {
+                    // could be passed an array - check at call time
+                    args.add(new ArrayArg(i, null));
+                } else if (isConvertedArray(type)) {
+                    args.add(new ArrayArg(i, type.getComponentType()));
+                }
+            }
+            return args.isEmpty() ? null : args.toArray(new ArrayArg[0]);
+        }
+
+        public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+            ArrayArg[] plan = plans.get(method);
+            if (plan == null || args == null)
+                return proxy.invoke(self, method, args);
             Runnable[] postInvoke = null;
             int postCount = 0;
-            for (int i = 0; i < lastArg; ++i) {
+            for (ArrayArg arg : plan) {
+                final int i = arg.index;
                 if (args[i] == null)
                     continue;
-                final Class<?> cls = args[i].getClass();
-                if (!cls.isArray() || cls.getComponentType().isPrimitive() || cls.getComponentType() == String.class)
-                    continue;
-                final Converter converter = getConverter(cls.getComponentType());
+                Class<?> componentType = arg.componentType;
+                if (componentType == null) {
+                    final Class<?> cls = args[i].getClass();
+                    if (!cls.isArray() || cls.getComponentType().isPrimitive() || cls.getComponentType() == String.class)
+                        continue;
+                    componentType = cls.getComponentType();
+                }
+                final Converter converter = getConverter(componentType);
                 if (converter != null) {
+                    final Class<?> javaType = componentType;
                     final Object[] src = (Object[]) args[i];
                     final Object dst = java.lang.reflect.Array.newInstance(converter.nativeType(), src.length);
                     final ArrayIO io = getArrayIO(converter.nativeType());
                     for (int a = 0; a < src.length; ++a)
                         io.set(dst, a, converter.toNative(src[a]));
                     if (postInvoke == null)
-                        postInvoke = new Runnable[lastArg];
+                        postInvoke = new Runnable[plan.length];
                     postInvoke[postCount++] = () -> {
                         for (int a = 0; a < src.length; ++a)
-                            src[a] = converter.fromNative(io.get(dst, a), cls.getComponentType());
+                            src[a] = converter.fromNative(io.get(dst, a), javaType);
                     };
                     args[i] = dst;
                 }
@@ -221,5 +266,16 @@ public final class GNative {
 
             Object get(Object array, int index);
         }
+
+        private static final class ArrayArg {
+            private final int index;
+            // null if only known at call time
+            private final Class<?> componentType;
+
+            private ArrayArg(int index, Class<?> componentType) {
+                this.index = index;
+                this.componentType = componentType;
+            }
+        }
     }
 }
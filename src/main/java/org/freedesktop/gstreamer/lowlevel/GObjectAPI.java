@@ -48,10 +48,22 @@ public interface GObjectAPI extends Library {
 
     void g_param_value_validate(GParamSpec spec, GValue data);
 
+    void g_param_value_validate(Pointer spec, Pointer data);
+
     void g_object_set_property(GObject obj, String property, GValue data);
 
+    void g_object_set_property(GObject obj, Pointer property, Pointer data);
+
     void g_object_get_property(GObject obj, String property, GValue data);
 
+    void g_object_get_property(GObject obj, Pointer property, Pointer data);
+
+    // since GLib 2.54 - values is a native GValue array
+    void g_object_setv(GObject obj, int n_properties, Pointer[] names, Pointer values);
+
+    // since GLib 2.54 - values is a native GValue array
+    void g_object_getv(GObject obj, int n_properties, Pointer[] names, Pointer values);
+
     void g_object_set(GObject obj, String propertyName, Object... data);
 
     void g_object_get(GObject obj, String propertyName, Object... data);
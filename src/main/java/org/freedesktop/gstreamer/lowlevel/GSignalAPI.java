@@ -53,6 +53,9 @@ public interface GSignalAPI extends Library {
 
     int g_signal_lookup(String name, GType itype);
 
+    boolean g_signal_parse_name(String detailed_signal, GType itype, int[] signal_id_p,
+                                int[] detail_p, boolean force_detail_quark);
+
     String g_signal_name(int signal_id);
 
     void g_signal_query(int signal_id, GSignalQuery query);
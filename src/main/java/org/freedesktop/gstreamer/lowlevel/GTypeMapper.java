@@ -93,7 +93,9 @@ public class GTypeMapper extends com.sun.jna.DefaultTypeMapper {
             }
             if (context instanceof CallbackParameterContext) {
 //                return NativeObject.objectFor((Pointer) result, (Class<? extends NativeObject>) context.getTargetType(), 1, true);
-                return Natives.objectFor((Pointer) result, (Class<? extends NativeObject>) context.getTargetType(), true, true);
+                // callback arguments may be retained beyond the callback
+                return Natives.unscoped(() -> Natives.objectFor((Pointer) result,
+                        (Class<? extends NativeObject>) context.getTargetType(), true, true));
             }
             if (context instanceof StructureReadContext sctx) {
                 boolean ownsHandle = sctx.getField().getAnnotation(ConstField.class) == null;
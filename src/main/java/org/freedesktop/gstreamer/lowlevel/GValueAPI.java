@@ -53,10 +53,14 @@ public interface GValueAPI extends Library {
 
     GValue g_value_init(GValue value, GType g_type);
 
+    Pointer g_value_init(Pointer value, GType g_type);
+
     GValue g_value_reset(GValue value);
 
     void g_value_unset(GValue value);
 
+    void g_value_unset(Pointer value);
+
     void g_value_set_char(GValue value, byte v_char);
 
     byte g_value_get_char(GValue value);
@@ -111,6 +115,10 @@ public interface GValueAPI extends Library {
 
     String g_value_get_string(GValue value);
 
+    void g_value_set_string(Pointer value, String v_string);
+
+    String g_value_get_string(Pointer value);
+
     Pointer g_value_get_pointer(GValue value);
 
     void g_value_set_pointer(GValue value, Pointer pointer);
@@ -121,6 +129,8 @@ public interface GValueAPI extends Library {
 
     boolean g_value_transform(GValue src_value, GValue dest_value);
 
+    boolean g_value_transform(Pointer src_value, Pointer dest_value);
+
     @CallerOwnsReturn
     String g_strdup_value_contents(GValue value);
 
@@ -133,8 +143,15 @@ public interface GValueAPI extends Library {
     @CallerOwnsReturn
     GObject g_value_dup_object(GValue value);
 
+    void g_value_set_object(Pointer value, GObject v_object);
+
+    @CallerOwnsReturn
+    GObject g_value_dup_object(Pointer value);
+
     Pointer g_value_get_boxed(GValue value);
 
+    Pointer g_value_get_boxed(Pointer value);
+
     GValue g_value_array_get_nth(GValueArray value_array, int index);
 
     Pointer g_value_array_new(int n_prealloced);
@@ -86,6 +86,10 @@ public interface GlibAPI extends Library {
 
     boolean g_main_context_wait(GMainContext ctx);
 
+    void g_main_context_push_thread_default(GMainContext ctx);
+
+    void g_main_context_pop_thread_default(GMainContext ctx);
+
     @CallerOwnsReturn
     GSource g_idle_source_new();
 
@@ -111,6 +115,59 @@ public interface GlibAPI extends Library {
 
     boolean g_source_is_destroyed(GSource source);
 
+    @CallerOwnsReturn
+    GSource g_source_new(GSourceFuncs source_funcs, int struct_size);
+
+    void g_source_set_priority(GSource source, int priority);
+
+    void g_source_set_ready_time(Pointer source, long ready_time);
+
+    interface GSourceDispatchFunc extends Callback {
+        boolean callback(Pointer source, Pointer callback, Pointer user_data);
+    }
+
+    final class GSourceFuncs extends com.sun.jna.Structure {
+        public Pointer prepare;
+        public Pointer check;
+        public GSourceDispatchFunc dispatch;
+        public Pointer finalize;
+        public Pointer closure_callback;
+        public Pointer closure_marshal;
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("prepare", "check", "dispatch", "finalize",
+                    "closure_callback", "closure_marshal");
+        }
+    }
+
+    /**
+     * Public GSource fields, used to size custom sources passed to
+     * {@code g_source_new}.
+     */
+    final class GSourceStruct extends com.sun.jna.Structure {
+        public volatile Pointer callback_data;
+        public volatile Pointer callback_funcs;
+        public volatile Pointer source_funcs;
+        public volatile int ref_count;
+        public volatile Pointer context;
+        public volatile int priority;
+        public volatile int flags;
+        public volatile int source_id;
+        public volatile Pointer poll_fds;
+        public volatile Pointer prev;
+        public volatile Pointer next;
+        public volatile Pointer name;
+        public volatile Pointer priv;
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("callback_data", "callback_funcs", "source_funcs",
+                    "ref_count", "context", "priority", "flags", "source_id",
+                    "poll_fds", "prev", "next", "name", "priv");
+        }
+    }
+
     /*
      * GThread functions
      */
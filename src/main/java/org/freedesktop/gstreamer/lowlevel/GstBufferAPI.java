@@ -24,6 +24,7 @@ import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
 import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.lowlevel.GlibAPI.GDestroyNotify;
 import org.freedesktop.gstreamer.lowlevel.GstMiniObjectAPI.MiniObjectStruct;
 import org.freedesktop.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 
@@ -45,6 +46,7 @@ public interface GstBufferAPI extends com.sun.jna.Library {
     int GST_LOCK_FLAG_WRITE = (1 << 1);
     int GST_MAP_READ = GST_LOCK_FLAG_READ;
     int GST_MAP_WRITE = GST_LOCK_FLAG_WRITE;
+    int GST_MEMORY_FLAG_READONLY = (1 << 1);
 
     GType gst_buffer_get_type();
 
@@ -61,6 +63,11 @@ public interface GstBufferAPI extends com.sun.jna.Library {
     @CallerOwnsReturn
     Pointer ptr_gst_buffer_new_allocate(Pointer allocator, int size, Pointer params);
 
+    @CallerOwnsReturn
+    Pointer ptr_gst_buffer_new_wrapped_full(int flags, Pointer data, NativeLong maxsize,
+                                            NativeLong offset, NativeLong size,
+                                            Pointer user_data, GDestroyNotify notify);
+
     /* memory blocks */
     NativeLong gst_buffer_get_size(Buffer buffer);
 
@@ -183,10 +190,33 @@ public interface GstBufferAPI extends com.sun.jna.Library {
         public long offset;
         public long offset_end;
 
+        public BufferStruct() {
+        }
+
         public BufferStruct(Pointer ptr) {
             super(ptr);
         }
 
+        int ptsOffset() {
+            return fieldOffset("pts");
+        }
+
+        int dtsOffset() {
+            return fieldOffset("dts");
+        }
+
+        int durationOffset() {
+            return fieldOffset("duration");
+        }
+
+        int offsetOffset() {
+            return fieldOffset("offset");
+        }
+
+        int offsetEndOffset() {
+            return fieldOffset("offset_end");
+        }
+
         @Override
         protected List<String> getFieldOrder() {
             return Arrays.asList("mini_object", "pool", "pts",
@@ -17,11 +17,20 @@
  */
 package org.freedesktop.gstreamer.lowlevel;
 
+import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.Buffer;
 import org.freedesktop.gstreamer.BufferPool;
 import org.freedesktop.gstreamer.Caps;
+import org.freedesktop.gstreamer.FlowReturn;
 import org.freedesktop.gstreamer.Structure;
 import org.freedesktop.gstreamer.lowlevel.annotations.CallerOwnsReturn;
+import org.freedesktop.gstreamer.lowlevel.annotations.Invalidate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.freedesktop.gstreamer.lowlevel.GstAPI.GST_PADDING;
 
 /**
  * GstBufferPool methods and structures
@@ -31,6 +40,11 @@ import org.freedesktop.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 public interface GstBufferPoolAPI extends com.sun.jna.Library {
     GstBufferPoolAPI GSTBUFFERPOOL_API = GstNative.load(GstBufferPoolAPI.class);
 
+    int GST_BUFFER_POOL_ACQUIRE_FLAG_NONE = 0;
+    int GST_BUFFER_POOL_ACQUIRE_FLAG_KEY_UNIT = (1 << 0);
+    int GST_BUFFER_POOL_ACQUIRE_FLAG_DONTWAIT = (1 << 1);
+    int GST_BUFFER_POOL_ACQUIRE_FLAG_DISCONT = (1 << 2);
+
     GType gst_buffer_pool_get_type();
 
     /* allocation */
@@ -40,11 +54,92 @@ public interface GstBufferPoolAPI extends com.sun.jna.Library {
     Pointer ptr_gst_buffer_pool_new();
 
     /* state management */
+    @CallerOwnsReturn
     Structure gst_buffer_pool_get_config(BufferPool pool);
 
+    boolean gst_buffer_pool_set_config(BufferPool pool, @Invalidate Structure config);
+
+    boolean gst_buffer_pool_set_active(BufferPool pool, boolean active);
+
+    boolean gst_buffer_pool_is_active(BufferPool pool);
+
+    void gst_buffer_pool_set_flushing(BufferPool pool, boolean flushing);
+
     /* helpers for configuring the config structure */
     boolean gst_buffer_pool_config_get_params(Structure config, /* Caps ** */ Pointer[] caps, /* guint * */ int[] size, /* guint * */ int[] min_buffers, /* guint * */ int[] max_buffers);
 
     void gst_buffer_pool_config_set_params(Structure config, Caps caps, int size, int min_buffers, int max_buffers);
 
+    boolean gst_buffer_pool_config_get_allocator(Structure config, /* GstAllocator ** */ Pointer[] allocator, AllocationParamsStruct params);
+
+    void gst_buffer_pool_config_set_allocator(Structure config, /* GstAllocator * */ Pointer allocator, AllocationParamsStruct params);
+
+    void gst_buffer_pool_config_add_option(Structure config, String option);
+
+    boolean gst_buffer_pool_config_has_option(Structure config, String option);
+
+    /* buffer management */
+    FlowReturn gst_buffer_pool_acquire_buffer(BufferPool pool, /* GstBuffer ** */ Pointer[] buffer, AcquireParamsStruct params);
+
+    void gst_buffer_pool_release_buffer(BufferPool pool, @Invalidate Buffer buffer);
+
+    /**
+     * GstAllocationParams:
+     * <p>
+     * flags: flags to control allocation
+     * align: the desired alignment of the memory
+     * prefix: the desired prefix
+     * padding: the desired padding
+     *
+     * @see <a href="https://cgit.freedesktop.org/gstreamer/gstreamer/tree/gst/gstallocator.h?h=1.8"></a>
+     */
+    final class AllocationParamsStruct extends com.sun.jna.Structure {
+        public int flags;
+        public NativeLong align;
+        public NativeLong prefix;
+        public NativeLong padding;
+
+        /*< private >*/
+        public Pointer[] _gst_reserved = new Pointer[GST_PADDING];
+
+        public AllocationParamsStruct() {
+            align = new NativeLong();
+            prefix = new NativeLong();
+            padding = new NativeLong();
+        }
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("flags", "align", "prefix", "padding",
+                    "_gst_reserved");
+        }
+    }
+
+    /**
+     * GstBufferPoolAcquireParams:
+     * <p>
+     * format: the format of start and stop
+     * start: the start position
+     * stop: the stop position
+     * flags: additional flags
+     */
+    final class AcquireParamsStruct extends com.sun.jna.Structure {
+        public int format;
+        public long start;
+        public long stop;
+        public int flags;
+
+        /*< private >*/
+        public Pointer[] _gst_reserved = new Pointer[GST_PADDING];
+
+        public AcquireParamsStruct() {
+        }
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("format", "start", "stop", "flags",
+                    "_gst_reserved");
+        }
+    }
+
 }
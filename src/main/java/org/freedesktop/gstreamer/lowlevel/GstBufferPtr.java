@@ -0,0 +1,110 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import com.sun.jna.Pointer;
+
+/**
+ * GstBuffer pointer.
+ * <p>
+ * Timing and offset fields are read and written at fixed offsets computed
+ * once from the {@link GstBufferAPI.BufferStruct} layout, avoiding the
+ * reflective field lookup and boxing of Structure.readField.
+ */
+public class GstBufferPtr extends GstMiniObjectPtr {
+
+    /**
+     * Number of values written by {@link #readTiming(long[])} - pts, dts,
+     * duration, offset and offset_end, in that order.
+     */
+    public static final int TIMING_FIELDS = 5;
+
+    private static final int PTS_OFFSET;
+    private static final int DTS_OFFSET;
+    private static final int DURATION_OFFSET;
+    private static final int OFFSET_OFFSET;
+    private static final int OFFSET_END_OFFSET;
+
+    static {
+        GstBufferAPI.BufferStruct struct = new GstBufferAPI.BufferStruct();
+        PTS_OFFSET = struct.ptsOffset();
+        DTS_OFFSET = struct.dtsOffset();
+        DURATION_OFFSET = struct.durationOffset();
+        OFFSET_OFFSET = struct.offsetOffset();
+        OFFSET_END_OFFSET = struct.offsetEndOffset();
+        if (DTS_OFFSET != PTS_OFFSET + 8 || OFFSET_END_OFFSET != PTS_OFFSET + 32) {
+            throw new IllegalStateException("Unexpected GstBuffer layout");
+        }
+    }
+
+    public GstBufferPtr() {
+    }
+
+    public GstBufferPtr(Pointer ptr) {
+        super(ptr);
+    }
+
+    public long getPTS() {
+        return getPointer().getLong(PTS_OFFSET);
+    }
+
+    public void setPTS(long pts) {
+        getPointer().setLong(PTS_OFFSET, pts);
+    }
+
+    public long getDTS() {
+        return getPointer().getLong(DTS_OFFSET);
+    }
+
+    public void setDTS(long dts) {
+        getPointer().setLong(DTS_OFFSET, dts);
+    }
+
+    public long getDuration() {
+        return getPointer().getLong(DURATION_OFFSET);
+    }
+
+    public void setDuration(long duration) {
+        getPointer().setLong(DURATION_OFFSET, duration);
+    }
+
+    public long getOffset() {
+        return getPointer().getLong(OFFSET_OFFSET);
+    }
+
+    public void setOffset(long offset) {
+        getPointer().setLong(OFFSET_OFFSET, offset);
+    }
+
+    public long getOffsetEnd() {
+        return getPointer().getLong(OFFSET_END_OFFSET);
+    }
+
+    public void setOffsetEnd(long offsetEnd) {
+        getPointer().setLong(OFFSET_END_OFFSET, offsetEnd);
+    }
+
+    /**
+     * Read pts, dts, duration, offset and offset_end into the provided array
+     * with a single native read.
+     *
+     * @param dst array of at least {@link #TIMING_FIELDS} length
+     */
+    public void readTiming(long[] dst) {
+        getPointer().read(PTS_OFFSET, dst, 0, TIMING_FIELDS);
+    }
+
+}
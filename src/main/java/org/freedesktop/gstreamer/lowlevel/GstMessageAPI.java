@@ -177,6 +177,8 @@ public interface GstMessageAPI extends com.sun.jna.Library {
     @ConstReturn
     Structure gst_message_get_structure(Message message);
 
+    Pointer ptr_gst_message_get_structure(GstMessagePtr message);
+
     Pointer ptr_gst_message_new_need_context(GstObject source, String context_type);
 
     @CallerOwnsReturn
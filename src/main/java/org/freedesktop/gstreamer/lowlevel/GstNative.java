@@ -21,6 +21,7 @@
 package org.freedesktop.gstreamer.lowlevel;
 
 import com.sun.jna.Library;
+import com.sun.jna.NativeLibrary;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -57,4 +58,14 @@ public final class GstNative {
             }
         throw new UnsatisfiedLinkError("Could not load library: " + libraryName);
     }
+
+    public static NativeLibrary getNativeLibrary(String libraryName) {
+        for (String format : nameFormats)
+            try {
+                return GNative.getNativeLibrary(String.format(format, libraryName));
+            } catch (UnsatisfiedLinkError ex) {
+                continue;
+            }
+        throw new UnsatisfiedLinkError("Could not load library: " + libraryName);
+    }
 }
@@ -153,6 +153,8 @@ public interface GstPadAPI extends com.sun.jna.Library {
     /* data passing functions to peer */
     FlowReturn gst_pad_push(Pad pad, @IncRef Buffer buffer);
 
+    FlowReturn gst_pad_push_list(Pad pad, @IncRef BufferList list);
+
     boolean gst_pad_check_pull_range(Pad pad);
 
     FlowReturn gst_pad_pull_range(Pad pad, /* guint64 */ long offset, /* guint */ int size,
@@ -197,6 +199,8 @@ public interface GstPadAPI extends com.sun.jna.Library {
 
     Buffer gst_pad_probe_info_get_buffer(GstPadProbeInfo probeInfo);
 
+    BufferList gst_pad_probe_info_get_buffer_list(GstPadProbeInfo probeInfo);
+
     Query gst_pad_probe_info_get_query(GstPadProbeInfo probeInfo);
 
     interface PadFixateCaps extends GstCallback {
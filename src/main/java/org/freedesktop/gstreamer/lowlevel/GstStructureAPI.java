@@ -23,6 +23,7 @@ import com.sun.jna.Pointer;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.PointerByReference;
 import org.freedesktop.gstreamer.Structure;
+import org.freedesktop.gstreamer.glib.GQuark;
 import org.freedesktop.gstreamer.lowlevel.GValueAPI.GValue;
 import org.freedesktop.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 import org.freedesktop.gstreamer.lowlevel.annotations.FreeReturnValue;
@@ -71,6 +72,8 @@ public interface GstStructureAPI extends com.sun.jna.Library {
 
     String gst_structure_get_name(Structure structure);
 
+    GQuark gst_structure_get_name_id(Pointer structure);
+
     void gst_structure_set_name(Structure structure, String name);
 
     boolean gst_structure_has_name(Structure structure, String name);
@@ -25,7 +25,9 @@ import org.freedesktop.gstreamer.glib.NativeObject;
 import org.freedesktop.gstreamer.glib.NativeObject.TypeRegistration;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,10 +38,16 @@ public class GstTypes {
 
     private static final Logger logger = Logger.getLogger(GstTypes.class.getName());
 
-    //    private static final Map<String, Class<? extends NativeObject>> gtypeNameMap
-//        = new ConcurrentHashMap<String, Class<? extends NativeObject>>();
     private static final Map<String, TypeRegistration<?>> TYPES
             = new ConcurrentHashMap<>();
+    // resolved registration (or empty if none) keyed by GType value
+    private static final Map<Long, Optional<TypeRegistration<?>>> RESOLVED
+            = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> CLASS_TYPE_NAMES
+            = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, GType> CLASS_TYPES
+            = new ConcurrentHashMap<>();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
 
     private GstTypes() {
     }
@@ -47,11 +55,13 @@ public class GstTypes {
     /**
      * Register a class with its GType name
      */
-//    public static void registerType(Class<? extends NativeObject> cls, String gTypeName) {
-//   		gtypeNameMap.put(gTypeName, cls);
-//    }
     public static void register(TypeRegistration<?> registration) {
-        TYPES.putIfAbsent(registration.getGTypeName(), registration);
+        if (TYPES.putIfAbsent(registration.getGTypeName(), registration) == null) {
+            CLASS_TYPE_NAMES.putIfAbsent(registration.getJavaType(), registration.getGTypeName());
+            // may change the resolution of subtypes or previously unknown types
+            GENERATION.incrementAndGet();
+            RESOLVED.clear();
+        }
     }
 
     /**
@@ -61,6 +71,20 @@ public class GstTypes {
      * @return The Class of the desired type or null.
      */
     public static TypeRegistration<?> registrationFor(final GType gType) {
+        Optional<TypeRegistration<?>> resolved = RESOLVED.get(gType.longValue());
+        if (resolved == null) {
+            int generation = GENERATION.get();
+            resolved = Optional.ofNullable(resolve(gType));
+            RESOLVED.put(gType.longValue(), resolved);
+            if (GENERATION.get() != generation) {
+                // raced with a new registration
+                RESOLVED.remove(gType.longValue(), resolved);
+            }
+        }
+        return resolved.orElse(null);
+    }
+
+    private static TypeRegistration<?> resolve(final GType gType) {
         final String gTypeName = gType.getTypeName();
 
         // Is this GType still registered in the map ? 
@@ -77,10 +101,6 @@ public class GstTypes {
                 if (GstTypes.logger.isLoggable(Level.FINER)) {
                     GstTypes.logger.finer("Found type of " + gType + " = " + reg.getJavaType());
                 }
-
-                // The following line is an optimisation but not compatible with current implementation of GstTypes.typeFor()
-                // Uncomment the following line after refactoring of GstTypes.typeFor()
-                // gtypeNameMap.put(gTypeName, cls);
                 return reg;
             }
             type = type.getParentType();
@@ -95,13 +115,28 @@ public class GstTypes {
         return reg != null ? reg.getJavaType() : null;
     }
 
-    //TODO : need refactoring to take into account derived class
+    /**
+     * Retrieve the GType registered for a class. Only the exact class is
+     * matched, not subclasses.
+     *
+     * @param cls the registered class
+     * @return the GType, or {@link GType#INVALID} if the class is not
+     * registered or its GType is not yet known to GLib.
+     */
     public static GType typeFor(Class<? extends NativeObject> cls) {
-        for (Map.Entry<String, TypeRegistration<?>> e : TYPES.entrySet()) {
-            if (e.getValue().getJavaType().equals(cls)) {
-                return GType.valueOf(e.getKey());
-            }
+        GType type = CLASS_TYPES.get(cls);
+        if (type != null) {
+            return type;
+        }
+        String name = CLASS_TYPE_NAMES.get(cls);
+        if (name == null) {
+            return GType.INVALID;
+        }
+        type = GType.valueOf(name);
+        if (!type.equals(GType.INVALID)) {
+            // GType names only resolve once the type is registered with GLib
+            CLASS_TYPES.put(cls, type);
         }
-        return GType.INVALID;
+        return type;
     }
 }
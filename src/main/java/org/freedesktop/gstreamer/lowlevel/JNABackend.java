@@ -0,0 +1,95 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import com.sun.jna.Library;
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GstBufferAPI.MapInfoStruct;
+
+/**
+ * {@link NativeBackend} using JNA interface mappings with raw pointer
+ * arguments, bypassing the annotation handling in {@link GTypeMapper}.
+ */
+final class JNABackend implements NativeBackend {
+
+    private static final Core CORE = GstNative.load(Core.class);
+
+    @Override
+    public String getName() {
+        return "jna";
+    }
+
+    @Override
+    public void miniObjectRef(Pointer miniObject) {
+        CORE.gst_mini_object_ref(miniObject);
+    }
+
+    @Override
+    public void miniObjectUnref(Pointer miniObject) {
+        CORE.gst_mini_object_unref(miniObject);
+    }
+
+    @Override
+    public boolean bufferMap(Pointer buffer, MapInfoStruct info, int flags) {
+        return CORE.gst_buffer_map(buffer, info, flags);
+    }
+
+    @Override
+    public void bufferUnmap(Pointer buffer, MapInfoStruct info) {
+        CORE.gst_buffer_unmap(buffer, info);
+    }
+
+    @Override
+    public int padPush(Pointer pad, Pointer buffer) {
+        return CORE.gst_pad_push(pad, buffer);
+    }
+
+    @Override
+    public int appSrcPushBuffer(Pointer appsrc, Pointer buffer) {
+        return App.INSTANCE.gst_app_src_push_buffer(appsrc, buffer);
+    }
+
+    @Override
+    public Pointer appSinkPullSample(Pointer appsink) {
+        return App.INSTANCE.gst_app_sink_pull_sample(appsink);
+    }
+
+    interface Core extends Library {
+
+        Pointer gst_mini_object_ref(Pointer miniObject);
+
+        void gst_mini_object_unref(Pointer miniObject);
+
+        boolean gst_buffer_map(Pointer buffer, MapInfoStruct info, int flags);
+
+        void gst_buffer_unmap(Pointer buffer, MapInfoStruct info);
+
+        int gst_pad_push(Pointer pad, Pointer buffer);
+
+    }
+
+    // loaded on first use, as gstapp may not be installed
+    interface App extends Library {
+
+        App INSTANCE = GstNative.load("gstapp", App.class);
+
+        int gst_app_src_push_buffer(Pointer appsrc, Pointer buffer);
+
+        Pointer gst_app_sink_pull_sample(Pointer appsink);
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GstBufferAPI.MapInfoStruct;
+
+/**
+ * Raw native calls on the hottest data paths - mini-object ref counting,
+ * buffer mapping, pad and appsrc push, and appsink pull.
+ * <p>
+ * All arguments are raw native pointers, and all ownership handling (refs
+ * for transfer-full arguments, invalidating pushed objects, wrapping
+ * returned references) is the responsibility of the caller. This allows
+ * the calls to be implemented without the JNA type mapper.
+ * <p>
+ * The default implementation uses JNA. On Java 22 or later, a backend using
+ * {@code java.lang.foreign} downcalls may be selected by setting the system
+ * property {@code gstreamer.nativeBackend} to {@code ffm}. If the FFM backend
+ * is not available, JNA is used.
+ */
+public interface NativeBackend {
+
+    /**
+     * Get the selected backend.
+     *
+     * @return native backend
+     */
+    static NativeBackend get() {
+        return NativeBackends.SELECTED;
+    }
+
+    /**
+     * The name of this backend, eg. {@code jna} or {@code ffm}.
+     *
+     * @return backend name
+     */
+    String getName();
+
+    void miniObjectRef(Pointer miniObject);
+
+    void miniObjectUnref(Pointer miniObject);
+
+    /**
+     * Map the buffer into the provided info, which is read back on success.
+     *
+     * @param buffer GstBuffer pointer
+     * @param info   map info
+     * @param flags  GstMapFlags
+     * @return true on success
+     */
+    boolean bufferMap(Pointer buffer, MapInfoStruct info, int flags);
+
+    void bufferUnmap(Pointer buffer, MapInfoStruct info);
+
+    /**
+     * Push a buffer on a pad. The buffer reference is transferred.
+     *
+     * @param pad    GstPad pointer
+     * @param buffer GstBuffer pointer
+     * @return GstFlowReturn value
+     */
+    int padPush(Pointer pad, Pointer buffer);
+
+    /**
+     * Push a buffer into an appsrc. The buffer reference is transferred.
+     *
+     * @param appsrc GstAppSrc pointer
+     * @param buffer GstBuffer pointer
+     * @return GstFlowReturn value
+     */
+    int appSrcPushBuffer(Pointer appsrc, Pointer buffer);
+
+    /**
+     * Pull a sample from an appsink. The caller owns the returned reference.
+     *
+     * @param appsink GstAppSink pointer
+     * @return GstSample pointer or null
+     */
+    Pointer appSinkPullSample(Pointer appsink);
+
+}
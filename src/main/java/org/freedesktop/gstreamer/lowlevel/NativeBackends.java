@@ -0,0 +1,46 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Selection of the {@link NativeBackend}.
+ */
+final class NativeBackends {
+
+    private static final Logger LOG = Logger.getLogger(NativeBackends.class.getName());
+
+    static final NativeBackend SELECTED = select(System.getProperty("gstreamer.nativeBackend", "jna"));
+
+    private NativeBackends() {
+    }
+
+    static NativeBackend select(String name) {
+        if ("ffm".equalsIgnoreCase(name)) {
+            try {
+                return FFMBackend.create();
+            } catch (UnsupportedOperationException | LinkageError ex) {
+                LOG.log(Level.WARNING, "FFM native backend not available, falling back to JNA", ex);
+            }
+        } else if (!"jna".equalsIgnoreCase(name)) {
+            LOG.log(Level.WARNING, "Unknown native backend {0}, using JNA", name);
+        }
+        return new JNABackend();
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GstBufferAPI.MapInfoStruct;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+/**
+ * {@link NativeBackend} using {@code java.lang.foreign} downcalls.
+ * <p>
+ * Symbols are resolved through the libraries already loaded by JNA, so
+ * library naming and search paths are the same as for the JNA backend.
+ */
+final class FFMBackend implements NativeBackend {
+
+    private static final MethodHandle MINI_OBJECT_REF;
+    private static final MethodHandle MINI_OBJECT_UNREF;
+    private static final MethodHandle BUFFER_MAP;
+    private static final MethodHandle BUFFER_UNMAP;
+    private static final MethodHandle PAD_PUSH;
+
+    static {
+        NativeLibrary gst = GstNative.getNativeLibrary("gstreamer");
+        MINI_OBJECT_REF = downcall(gst, "gst_mini_object_ref",
+                FunctionDescriptor.of(ADDRESS, ADDRESS));
+        MINI_OBJECT_UNREF = downcall(gst, "gst_mini_object_unref",
+                FunctionDescriptor.ofVoid(ADDRESS));
+        BUFFER_MAP = downcall(gst, "gst_buffer_map",
+                FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, JAVA_INT));
+        BUFFER_UNMAP = downcall(gst, "gst_buffer_unmap",
+                FunctionDescriptor.ofVoid(ADDRESS, ADDRESS));
+        PAD_PUSH = downcall(gst, "gst_pad_push",
+                FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS));
+    }
+
+    private FFMBackend() {
+    }
+
+    static NativeBackend create() {
+        return new FFMBackend();
+    }
+
+    @Override
+    public String getName() {
+        return "ffm";
+    }
+
+    @Override
+    public void miniObjectRef(Pointer miniObject) {
+        try {
+            MemorySegment ignore = (MemorySegment) MINI_OBJECT_REF.invokeExact(segment(miniObject));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public void miniObjectUnref(Pointer miniObject) {
+        try {
+            MINI_OBJECT_UNREF.invokeExact(segment(miniObject));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public boolean bufferMap(Pointer buffer, MapInfoStruct info, int flags) {
+        int ok;
+        try {
+            ok = (int) BUFFER_MAP.invokeExact(segment(buffer), segment(info.getPointer()), flags);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        if (ok != 0) {
+            info.read();
+        }
+        return ok != 0;
+    }
+
+    @Override
+    public void bufferUnmap(Pointer buffer, MapInfoStruct info) {
+        try {
+            BUFFER_UNMAP.invokeExact(segment(buffer), segment(info.getPointer()));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public int padPush(Pointer pad, Pointer buffer) {
+        try {
+            return (int) PAD_PUSH.invokeExact(segment(pad), segment(buffer));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public int appSrcPushBuffer(Pointer appsrc, Pointer buffer) {
+        try {
+            return (int) App.PUSH_BUFFER.invokeExact(segment(appsrc), segment(buffer));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public Pointer appSinkPullSample(Pointer appsink) {
+        MemorySegment sample;
+        try {
+            sample = (MemorySegment) App.PULL_SAMPLE.invokeExact(segment(appsink));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        return sample.address() == 0 ? null : new Pointer(sample.address());
+    }
+
+    // resolved on first use, as gstapp may not be installed
+    private static final class App {
+
+        private static final NativeLibrary LIBRARY = GstNative.getNativeLibrary("gstapp");
+        private static final MethodHandle PUSH_BUFFER = downcall(LIBRARY, "gst_app_src_push_buffer",
+                FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS));
+        private static final MethodHandle PULL_SAMPLE = downcall(LIBRARY, "gst_app_sink_pull_sample",
+                FunctionDescriptor.of(ADDRESS, ADDRESS));
+
+    }
+
+    private static MethodHandle downcall(NativeLibrary library, String symbol, FunctionDescriptor descriptor) {
+        long address = Pointer.nativeValue(library.getFunction(symbol));
+        return Linker.nativeLinker().downcallHandle(MemorySegment.ofAddress(address), descriptor);
+    }
+
+    private static MemorySegment segment(Pointer ptr) {
+        return MemorySegment.ofAddress(Pointer.nativeValue(ptr));
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException ex) {
+            return ex;
+        }
+        if (t instanceof Error err) {
+            throw err;
+        }
+        return new IllegalStateException(t);
+    }
+
+}
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -67,6 +69,18 @@ public class BufferFieldsTest {
         assertEquals(7005003, val);
     }
 
+    @Test
+    public void readTimingInto() {
+        buf.setPresentationTimestamp(1001);
+        buf.setDecodeTimestamp(1002);
+        buf.setDuration(1003);
+        buf.setOffset(1004);
+        buf.setOffsetEnd(1005);
+        long[] timing = buf.readTimingInto(new long[Buffer.TIMING_FIELDS]);
+        assertArrayEquals(new long[]{1001, 1002, 1003, 1004, 1005}, timing);
+        assertThrows(IllegalArgumentException.class, () -> buf.readTimingInto(new long[4]));
+    }
+
     @Test
     // cannot test on GStreamer 1.8
     public void setFlags() {
@@ -0,0 +1,75 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferListTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("BufferListTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        BufferList list = new BufferList(4);
+        assertEquals(0, list.size());
+        for (int i = 0; i < 4; i++) {
+            Buffer buffer = new Buffer(i + 1);
+            buffer.setOffset(i);
+            list.add(buffer);
+        }
+        assertEquals(4, list.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, list.get(i).getOffset());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(4));
+        list.dispose();
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        BufferList list = new BufferList();
+        Buffer first = new Buffer(1);
+        first.setOffset(1);
+        list.add(first);
+        Buffer zero = new Buffer(1);
+        zero.setOffset(0);
+        list.insert(0, zero);
+        assertEquals(2, list.size());
+        assertEquals(0, list.get(0).getOffset());
+        assertEquals(1, list.get(1).getOffset());
+        BufferList copy = list.copyDeep();
+        list.remove(0, 1);
+        assertEquals(1, list.size());
+        assertEquals(1, list.get(0).getOffset());
+        assertEquals(2, copy.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0, 2));
+        list.dispose();
+        copy.dispose();
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferPoolTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("BufferPoolTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void testConfig() {
+        BufferPool pool = new BufferPool();
+        Caps caps = Caps.fromString("video/x-raw,format=RGB,width=16,height=16");
+        assertTrue(pool.trySetParams(caps, 768, 1, 4));
+        assertEquals(768, pool.getSize());
+        assertEquals(1, pool.getMinBuffers());
+        assertEquals(4, pool.getMaxBuffers());
+        assertTrue(pool.getCaps().isEqual(caps));
+        assertTrue(pool.setAllocatorParams(15, 0, 0));
+        assertFalse(pool.hasOption("TestOption"));
+        assertTrue(pool.addOption("TestOption"));
+        assertTrue(pool.hasOption("TestOption"));
+        assertEquals(768, pool.getSize());
+    }
+
+    @Test
+    public void testAcquireRelease() {
+        BufferPool pool = new BufferPool();
+        assertTrue(pool.trySetParams(null, 1024, 0, 2));
+        assertNull(pool.tryAcquireBuffer());
+        assertTrue(pool.setActive(true));
+        assertTrue(pool.isActive());
+        Buffer b1 = pool.acquireBuffer();
+        Buffer b2 = pool.acquireBuffer(100, TimeUnit.MILLISECONDS);
+        assertNotNull(b1);
+        assertNotNull(b2);
+        assertEquals(2, pool.getMisses());
+        assertNull(pool.tryAcquireBuffer());
+        assertNull(pool.acquireBuffer(10, TimeUnit.MILLISECONDS));
+        assertEquals(1, pool.getWaits());
+        pool.releaseBuffer(b1);
+        b2.dispose();
+        Buffer b3 = pool.tryAcquireBuffer();
+        assertNotNull(b3);
+        assertEquals(1, pool.getHits());
+        b3.dispose();
+        assertFalse(pool.trySetParams(null, 512, 0, 2));
+        assertTrue(pool.setActive(false));
+        assertFalse(pool.isActive());
+    }
+
+    @Test
+    public void testPreallocatedBuffersAreHits() {
+        BufferPool pool = new BufferPool();
+        pool.setParams(null, 256, 2, 0);
+        assertTrue(pool.setActive(true));
+        Buffer b1 = pool.acquireBuffer();
+        Buffer b2 = pool.acquireBuffer();
+        assertEquals(2, pool.getHits());
+        assertEquals(0, pool.getMisses());
+        Buffer b3 = pool.acquireBuffer();
+        assertEquals(1, pool.getMisses());
+        b1.dispose();
+        b2.dispose();
+        b3.dispose();
+        Buffer b4 = pool.acquireBuffer();
+        assertEquals(3, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        b4.dispose();
+        assertTrue(pool.setActive(false));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("BufferTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void testWrap() {
+        ByteBuffer data = ByteBuffer.allocateDirect(16);
+        for (int i = 0; i < 16; i++) {
+            data.put((byte) i);
+        }
+        data.position(4);
+        AtomicReference<ByteBuffer> released = new AtomicReference<>();
+        Buffer buffer = Buffer.wrap(data, released::set);
+        ByteBuffer mapped = buffer.map(false);
+        assertEquals(12, mapped.remaining());
+        assertEquals(4, mapped.get(0));
+        assertEquals(15, mapped.get(11));
+        buffer.unmap();
+        assertNull(released.get());
+        buffer.dispose();
+        assertSame(data, released.get());
+    }
+
+    @Test
+    public void testWrapHeapBuffer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Buffer.wrap(ByteBuffer.allocate(16), null));
+    }
+
+    @Test
+    public void testMapMemory() {
+        Buffer buffer = new Buffer(8);
+        assertEquals(1, buffer.getMemoryCount());
+        try (Buffer.Mapping write = buffer.mapMemory(0, true)) {
+            assertEquals(8, write.getSize());
+            write.getByteBuffer().put(0, (byte) 42);
+        }
+        try (Buffer.Mapping first = buffer.mapMemory(0, false);
+             Buffer.Mapping second = buffer.mapRange(0, -1, false)) {
+            assertEquals(42, first.getByteBuffer().get(0));
+            assertEquals(42, second.getByteBuffer().get(0));
+            second.close();
+            assertThrows(IllegalStateException.class, second::getByteBuffer);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.mapMemory(1, false));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.mapRange(0, 2, false));
+        buffer.dispose();
+    }
+
+}
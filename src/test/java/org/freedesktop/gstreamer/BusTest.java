@@ -21,11 +21,24 @@ package org.freedesktop.gstreamer;
 
 import org.freedesktop.gstreamer.lowlevel.GlibAPI;
 import org.freedesktop.gstreamer.lowlevel.GstAPI.GErrorStruct;
+import org.freedesktop.gstreamer.message.BufferingMessage;
 import org.freedesktop.gstreamer.message.EOSMessage;
 import org.freedesktop.gstreamer.message.Message;
 import org.freedesktop.gstreamer.message.MessageType;
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -344,6 +357,158 @@ public class BusTest {
         assertTrue(gc.waitDestroyed(), "Message not destroyed");
     }
 
+    @Test
+    public void dispatchExecutor() throws Exception {
+        final TestPipe pipe = new TestPipe("dispatchExecutor");
+        final int COUNT = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "BusTest dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean wrongThread = new AtomicBoolean();
+        final CountDownLatch latch = new CountDownLatch(COUNT);
+
+        Bus.BUFFERING signal = (GstObject source, int percent) -> {
+            if (!"BusTest dispatch".equals(Thread.currentThread().getName())) {
+                wrongThread.set(true);
+            }
+            received.add(percent);
+            latch.countDown();
+        };
+        pipe.pipe.setBusExecutor(executor);
+        assertSame(executor, pipe.getBus().getDispatchExecutor());
+        pipe.getBus().connect(signal);
+        for (int i = 0; i < COUNT; i++) {
+            pipe.getBus().post(new BufferingMessage(pipe.src, i % 100));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Messages not received");
+        assertFalse(wrongThread.get(), "Message dispatched on wrong thread");
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i % 100, received.get(i).intValue(), "Messages out of order");
+        }
+        assertEquals(0, pipe.getBus().getDispatchQueueSize());
+        pipe.getBus().disconnect(signal);
+        pipe.getBus().setDispatchExecutor(null);
+        pipe.dispose();
+        executor.shutdown();
+    }
+
+    @Test
+    public void unsubscribedMessagesNotDispatched() {
+        final TestPipe pipe = new TestPipe("unsubscribed");
+        final List<Runnable> tasks = new ArrayList<>();
+        final AtomicInteger eosCount = new AtomicInteger();
+        final AtomicInteger anyCount = new AtomicInteger();
+        Bus.EOS eos = source -> eosCount.incrementAndGet();
+        pipe.getBus().setDispatchExecutor(tasks::add);
+        pipe.getBus().connect(eos);
+        for (int i = 0; i < 10; i++) {
+            pipe.getBus().post(new BufferingMessage(pipe.src, i));
+        }
+        assertTrue(tasks.isEmpty(), "Unsubscribed messages scheduled for dispatch");
+        assertEquals(0, pipe.getBus().getDispatchQueueSize());
+        pipe.getBus().post(new EOSMessage(pipe.src));
+        assertEquals(1, tasks.size());
+        assertEquals(1, pipe.getBus().getDispatchQueueSize());
+        tasks.remove(0).run();
+        assertEquals(1, eosCount.get());
+
+        Bus.MESSAGE any = (bus, msg) -> anyCount.incrementAndGet();
+        pipe.getBus().connect(any);
+        pipe.getBus().post(new BufferingMessage(pipe.src, 50));
+        pipe.getBus().post(new EOSMessage(pipe.src));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(2, anyCount.get());
+        assertEquals(2, eosCount.get());
+
+        pipe.getBus().disconnect(any);
+        pipe.getBus().disconnect(eos);
+        pipe.getBus().setDispatchExecutor(null);
+        pipe.dispose();
+    }
+
+    @Test
+    public void coalesceByType() {
+        final TestPipe pipe = new TestPipe("coalesceByType");
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Integer> received = new ArrayList<>();
+        Bus.BUFFERING listener = (source, percent) -> received.add(percent);
+        pipe.getBus().setDispatchExecutor(tasks::add);
+        pipe.getBus().setCoalescing(MessageType.BUFFERING, true);
+        pipe.getBus().connect(listener);
+        for (int i = 0; i < 10; i++) {
+            pipe.getBus().post(new BufferingMessage(pipe.src, i));
+        }
+        assertEquals(1, tasks.size());
+        assertEquals(1, pipe.getBus().getDispatchQueueSize());
+        assertEquals(9, pipe.getBus().getCoalescedCount());
+        tasks.remove(0).run();
+        assertEquals(List.of(9), received);
+
+        pipe.getBus().setCoalescing(MessageType.BUFFERING, false);
+        pipe.getBus().post(new BufferingMessage(pipe.src, 20));
+        pipe.getBus().post(new BufferingMessage(pipe.src, 30));
+        tasks.remove(0).run();
+        assertEquals(List.of(9, 20, 30), received);
+        assertEquals(9, pipe.getBus().getCoalescedCount());
+        pipe.getBus().disconnect(listener);
+        pipe.getBus().setDispatchExecutor(null);
+        pipe.dispose();
+    }
+
+    @Test
+    public void coalesceByStructureName() {
+        final TestPipe pipe = new TestPipe("coalesceByStructureName");
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<String> received = new ArrayList<>();
+        Bus.MESSAGE listener = (bus, msg) -> received.add(msg.getStructure().getName());
+        pipe.getBus().setDispatchExecutor(tasks::add);
+        pipe.getBus().setCoalescing("level", true);
+        pipe.getBus().connect(listener);
+        for (int i = 0; i < 5; i++) {
+            pipe.getBus().post(GSTMESSAGE_API.gst_message_new_custom(
+                    MessageType.ELEMENT, pipe.src, new Structure("level")));
+            pipe.getBus().post(GSTMESSAGE_API.gst_message_new_custom(
+                    MessageType.ELEMENT, pipe.src, new Structure("other")));
+        }
+        assertEquals(4, pipe.getBus().getCoalescedCount());
+        tasks.remove(0).run();
+        // the latest level message is delivered in the order it was posted
+        assertEquals(List.of("other", "other", "other", "other", "level", "other"), received);
+        pipe.getBus().disconnect(listener);
+        pipe.getBus().setDispatchExecutor(null);
+        pipe.dispose();
+    }
+
+    @Test
+    public void awaitMessage() throws Exception {
+        final TestPipe pipe = new TestPipe("awaitMessage");
+        CompletableFuture<Message> eos = pipe.getBus().awaitMessage(
+                EnumSet.of(MessageType.EOS, MessageType.ERROR), Duration.ofSeconds(5));
+        CompletableFuture<Message> any = pipe.getBus().awaitMessage(
+                EnumSet.of(MessageType.ANY), Duration.ofSeconds(5));
+        pipe.getBus().post(new BufferingMessage(pipe.src, 10));
+        pipe.getBus().post(new EOSMessage(pipe.src));
+        Message msg = eos.get(5, TimeUnit.SECONDS);
+        assertEquals(MessageType.EOS, msg.getType());
+        assertEquals(MessageType.BUFFERING, any.get(5, TimeUnit.SECONDS).getType());
+        pipe.dispose();
+    }
+
+    @Test
+    public void awaitMessageTimeout() throws Exception {
+        final TestPipe pipe = new TestPipe("awaitMessageTimeout");
+        CompletableFuture<Message> future = pipe.getBus().awaitMessage(
+                EnumSet.of(MessageType.EOS), Duration.ofMillis(50));
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof TimeoutException);
+        pipe.dispose();
+    }
+
     @Test
     public void syncHandler() {
         final TestPipe pipe = new TestPipe("syncHandler");
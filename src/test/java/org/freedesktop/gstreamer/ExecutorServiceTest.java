@@ -24,13 +24,17 @@ import org.freedesktop.gstreamer.glib.MainContextExecutorService;
 import org.freedesktop.gstreamer.lowlevel.MainLoop;
 import org.junit.jupiter.api.*;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -124,6 +128,125 @@ public class ExecutorServiceTest {
         assertTrue(exec.hasFired(), "Runnable not called");
     }
 
+    @Test
+    public void executeOrderedFromManyThreads() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(
+                Gst.getMainContext(), 1, TimeUnit.MILLISECONDS);
+        final int producers = 4;
+        final int count = 2000;
+        final int[] last = new int[producers];
+        final AtomicBoolean ordered = new AtomicBoolean(true);
+        final CountDownLatch done = new CountDownLatch(producers * count);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 1; i <= count; i++) {
+                    final int value = i;
+                    exec.execute(() -> {
+                        if (last[producer] != value - 1) {
+                            ordered.set(false);
+                        }
+                        last[producer] = value;
+                        done.countDown();
+                    });
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Not all tasks run");
+        assertTrue(ordered.get(), "Tasks from one thread run out of order");
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shutdownRunsQueuedTasks() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean queuedRun = new AtomicBoolean(false);
+        exec.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+            }
+        });
+        exec.execute(() -> queuedRun.set(true));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        exec.shutdown();
+        assertTrue(exec.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> exec.execute(() -> {
+        }));
+        assertFalse(exec.awaitTermination(50, TimeUnit.MILLISECONDS));
+        assertFalse(exec.isTerminated());
+        release.countDown();
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(exec.isTerminated());
+        assertTrue(queuedRun.get(), "Queued task not run after shutdown");
+    }
+
+    @Test
+    public void shutdownNowReturnsQueuedTasks() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        exec.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+            }
+        });
+        Runnable queued = () -> {
+        };
+        exec.execute(queued);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        List<Runnable> pending = exec.shutdownNow();
+        assertEquals(List.of(queued), pending);
+        assertFalse(exec.isTerminated());
+        release.countDown();
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shutdownRunsDelayedTasks() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
+        final AtomicBoolean delayedRun = new AtomicBoolean(false);
+        Future<?> delayed = exec.schedule(() -> delayedRun.set(true), 100, TimeUnit.MILLISECONDS);
+        exec.shutdown();
+        assertFalse(exec.isTerminated());
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(delayed.isDone());
+        assertTrue(delayedRun.get(), "Delayed task not run after shutdown");
+    }
+
+    @Test
+    public void shutdownCancelsPeriodicTasks() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
+        Future<?> periodic = exec.scheduleAtFixedRate(() -> {
+        }, 10, 10, TimeUnit.MILLISECONDS);
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(periodic.isCancelled());
+    }
+
+    @Test
+    public void shutdownNowCancelsDelayedTasks() throws Exception {
+        final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
+        final AtomicBoolean delayedRun = new AtomicBoolean(false);
+        Future<?> delayed = exec.schedule(() -> delayedRun.set(true), 100, TimeUnit.MILLISECONDS);
+        assertTrue(exec.shutdownNow().isEmpty());
+        assertTrue(delayed.isCancelled());
+        assertTrue(exec.awaitTermination(1, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertFalse(delayedRun.get(), "Delayed task run after shutdownNow");
+    }
+
     private static class TestExec {
         final MainContextExecutorService exec = new MainContextExecutorService(Gst.getMainContext());
         final AtomicBoolean fired = new AtomicBoolean(false);
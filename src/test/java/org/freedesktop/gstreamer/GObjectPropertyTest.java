@@ -0,0 +1,194 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Typed property accessors and the property spec cache, using core elements
+ * only.
+ */
+public class GObjectPropertyTest {
+
+    private Element fakesrc;
+    private Element identity;
+    private Element queue;
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("GObjectPropertyTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        fakesrc = ElementFactory.make("fakesrc", null);
+        identity = ElementFactory.make("identity", null);
+        queue = ElementFactory.make("queue", null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        fakesrc.dispose();
+        identity.dispose();
+        queue.dispose();
+    }
+
+    @Test
+    public void intAccessors() {
+        fakesrc.setInt("num-buffers", 42);
+        assertEquals(42, fakesrc.getInt("num-buffers"));
+        assertEquals(42, fakesrc.get("num-buffers"));
+        assertEquals(42L, fakesrc.getLong("num-buffers"));
+        assertEquals(42.0, fakesrc.getDouble("num-buffers"));
+    }
+
+    @Test
+    public void longAccessors() {
+        identity.setLong("ts-offset", -9223372036854775808L);
+        assertEquals(-9223372036854775808L, identity.getLong("ts-offset"));
+        queue.setLong("max-size-time", 5_000_000_000L);
+        assertEquals(5_000_000_000L, queue.getLong("max-size-time"));
+        assertEquals(5_000_000_000L, queue.get("max-size-time"));
+    }
+
+    @Test
+    public void unsignedAccessors() {
+        queue.setLong("max-size-bytes", 3_000_000_000L);
+        assertEquals(3_000_000_000L, queue.getLong("max-size-bytes"));
+        assertEquals(3_000_000_000.0, queue.getDouble("max-size-bytes"));
+        assertEquals((int) 3_000_000_000L, queue.getInt("max-size-bytes"));
+    }
+
+    @Test
+    public void doubleAccessors() {
+        identity.setDouble("drop-probability", 0.25);
+        assertEquals(0.25, identity.getDouble("drop-probability"), 0.0001);
+        identity.setInt("drop-probability", 1);
+        assertEquals(1.0, identity.getDouble("drop-probability"), 0.0001);
+    }
+
+    @Test
+    public void booleanAccessors() {
+        identity.setBoolean("sync", true);
+        assertTrue(identity.getBoolean("sync"));
+        assertEquals(true, identity.get("sync"));
+        identity.setBoolean("sync", false);
+        assertFalse(identity.getBoolean("sync"));
+    }
+
+    @Test
+    public void enumThroughTypedAccessors() {
+        fakesrc.setInt("filltype", 3);
+        assertEquals(3, fakesrc.getInt("filltype"));
+        assertEquals(3, fakesrc.get("filltype"));
+    }
+
+    @Test
+    public void stringAccessors() {
+        identity.set("name", "typed");
+        assertEquals("typed", identity.get("name"));
+        assertEquals("typed", identity.getName());
+    }
+
+    @Test
+    public void unknownProperty() {
+        assertThrows(IllegalArgumentException.class, () -> identity.getInt("no-such-property"));
+        assertThrows(IllegalArgumentException.class, () -> identity.setInt("no-such-property", 1));
+        assertThrows(IllegalArgumentException.class, () -> identity.get("no-such-property"));
+    }
+
+    @Test
+    public void cachedSpecsSharedByInstances() {
+        Element other = ElementFactory.make("identity", null);
+        identity.setInt("error-after", 10);
+        other.setInt("error-after", 20);
+        assertEquals(10, identity.getInt("error-after"));
+        assertEquals(20, other.getInt("error-after"));
+        other.dispose();
+    }
+
+    @Test
+    public void setAllGetAll() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("max-size-buffers", 50);
+        values.put("max-size-time", 2_000_000_000L);
+        values.put("leaky", 2);
+        values.put("silent", true);
+        values.put("name", "multi");
+        queue.setAll(values);
+        Map<String, Object> result = queue.getAll("name", "max-size-buffers",
+                "max-size-time", "leaky", "silent");
+        assertEquals(Arrays.asList("name", "max-size-buffers", "max-size-time", "leaky", "silent"),
+                new ArrayList<>(result.keySet()));
+        assertEquals("multi", result.get("name"));
+        assertEquals(50, result.get("max-size-buffers"));
+        assertEquals(2_000_000_000L, result.get("max-size-time"));
+        assertEquals(2, result.get("leaky"));
+        assertEquals(true, result.get("silent"));
+    }
+
+    @Test
+    public void setAllConvertsValues() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("drop-probability", 1);
+        values.put("error-after", 7L);
+        identity.setAll(values);
+        assertEquals(1.0, identity.getDouble("drop-probability"), 0.0001);
+        assertEquals(7, identity.getInt("error-after"));
+    }
+
+    @Test
+    public void setAllUnknownPropertyChangesNothing() {
+        fakesrc.setInt("num-buffers", 5);
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("num-buffers", 10);
+        values.put("no-such-property", 1);
+        assertThrows(IllegalArgumentException.class, () -> fakesrc.setAll(values));
+        assertEquals(5, fakesrc.getInt("num-buffers"));
+        assertThrows(IllegalArgumentException.class,
+                () -> fakesrc.getAll("num-buffers", "no-such-property"));
+    }
+
+    @Test
+    public void getAllReleasesBoxedValues() {
+        Element capsfilter = ElementFactory.make("capsfilter", null);
+        capsfilter.set("caps", Caps.fromString("video/x-raw"));
+        Caps caps = (Caps) capsfilter.getAll("caps").get("caps");
+        // one reference held by the element, one by the returned wrapper
+        assertEquals(2, caps.getRefCount());
+        caps.dispose();
+        caps = (Caps) capsfilter.get("caps");
+        assertEquals(2, caps.getRefCount());
+        caps.dispose();
+        capsfilter.dispose();
+    }
+
+    @Test
+    public void emptySetAllGetAll() {
+        identity.setAll(Collections.emptyMap());
+        assertTrue(identity.getAll().isEmpty());
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Signal connection registry and emission by cached signal ID.
+ */
+public class GObjectSignalTest {
+
+    private Element element;
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("GObjectSignalTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        element = ElementFactory.make("identity", null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        element.dispose();
+    }
+
+    @Test
+    public void emitCallsListener() {
+        final AtomicInteger count = new AtomicInteger();
+        final Element[] source = new Element[1];
+        element.connect((Element.NO_MORE_PADS) elem -> {
+            source[0] = elem;
+            count.incrementAndGet();
+        });
+        element.emit("no-more-pads");
+        element.emit("no-more-pads");
+        assertEquals(2, count.get());
+        assertSame(element, source[0]);
+    }
+
+    @Test
+    public void disconnectedListenerNotCalled() {
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        Element.NO_MORE_PADS firstListener = elem -> first.incrementAndGet();
+        Element.NO_MORE_PADS secondListener = elem -> second.incrementAndGet();
+        element.connect(firstListener);
+        element.connect(secondListener);
+        element.emit("no-more-pads");
+        element.disconnect(firstListener);
+        element.emit("no-more-pads");
+        element.disconnect(secondListener);
+        element.emit("no-more-pads");
+        assertEquals(1, first.get());
+        assertEquals(2, second.get());
+    }
+
+    @Test
+    public void emitOnSeparateInstances() {
+        Element other = ElementFactory.make("identity", null);
+        final AtomicInteger count = new AtomicInteger();
+        other.connect((Element.NO_MORE_PADS) elem -> count.incrementAndGet());
+        element.emit("no-more-pads");
+        assertEquals(0, count.get());
+        other.emit("no-more-pads");
+        assertEquals(1, count.get());
+        other.dispose();
+    }
+
+    @Test
+    public void concurrentConnectAndEmit() throws Exception {
+        final int threads = 4;
+        final int iterations = 200;
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        Element.NO_MORE_PADS listener = elem -> count.incrementAndGet();
+                        element.connect(listener);
+                        element.disconnect(listener);
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    element.emit("no-more-pads");
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        int fired = count.get();
+        element.emit("no-more-pads");
+        assertEquals(fired, count.get());
+    }
+
+}
@@ -25,6 +25,9 @@ import org.freedesktop.gstreamer.lowlevel.GstTypes;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class GstTypesTest {
 
@@ -57,6 +60,23 @@ public class GstTypesTest {
         assertEquals(elementType, GstTypes.typeFor(Element.class));
     }
 
+    @Test
+    public void cachedResolutionTest() {
+        Element sink = ElementFactory.make("fakesink", "fakesink");
+        GType sinkType = Natives.getPointer(sink)
+                .as(GObjectPtr.class, GObjectPtr::new).getGType();
+        Class<?> first = GstTypes.classFor(sinkType);
+        assertNotNull(first);
+        assertSame(GstTypes.registrationFor(sinkType), GstTypes.registrationFor(sinkType));
+        assertEquals(first, GstTypes.classFor(sinkType));
+        // types with no registration are cached as well
+        assertNull(GstTypes.classFor(GType.STRING));
+        assertNull(GstTypes.classFor(GType.STRING));
+        assertEquals(GType.INVALID, GstTypes.typeFor(MiniObject.class));
+        assertEquals(GType.valueOf(Bin.GTYPE_NAME), GstTypes.typeFor(Bin.class));
+        sink.dispose();
+    }
+
     @Test
     public void unregisteredClassTest() {
         GType elementType = GType.valueOf(Element.GTYPE_NAME);
@@ -0,0 +1,85 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer;
+
+import org.freedesktop.gstreamer.message.EOSMessage;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Gst.Config}. GStreamer cannot be initialized again after
+ * deinit, so the configured init is done once for the class.
+ */
+public class InitConfigTest {
+
+    private static ScheduledExecutorService executor;
+    private static ExecutorService dispatch;
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        dispatch = Executors.newFixedThreadPool(2, r -> new Thread(r, "InitConfigTest dispatch"));
+        Gst.init(Gst.Config.builder()
+                .executor(executor)
+                .dispatchExecutor(dispatch)
+                .build(), Gst.getVersion(), "InitConfigTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+        assertFalse(executor.isShutdown(), "Provided executor shut down by deinit");
+        executor.shutdown();
+        dispatch.shutdown();
+    }
+
+    @Test
+    public void configuredExecutors() {
+        assertSame(executor, Gst.getExecutor());
+        assertSame(dispatch, Gst.getDispatchExecutor());
+    }
+
+    @Test
+    public void busDispatchOnConfiguredExecutor() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        Bus.EOS eos = source -> thread.complete(Thread.currentThread().getName());
+        pipeline.getBus().connect(eos);
+        pipeline.getBus().post(new EOSMessage(pipeline));
+        assertEquals("InitConfigTest dispatch", thread.get(5, TimeUnit.SECONDS));
+        pipeline.getBus().disconnect(eos);
+        pipeline.dispose();
+    }
+
+    @Test
+    public void virtualThreadDispatch() {
+        if (Gst.Config.isVirtualThreadDispatchSupported()) {
+            assertNotNull(Gst.Config.builder().virtualThreadDispatch(true).build());
+        } else {
+            assertThrows(UnsupportedOperationException.class,
+                    () -> Gst.Config.builder().virtualThreadDispatch(true));
+        }
+    }
+
+}
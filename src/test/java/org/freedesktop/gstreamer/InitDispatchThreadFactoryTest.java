@@ -0,0 +1,68 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer;
+
+import org.freedesktop.gstreamer.message.EOSMessage;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Gst.Config.Builder#dispatchThreadFactory}. GStreamer
+ * cannot be initialized again after deinit, so the configured init is done
+ * once for the class.
+ */
+public class InitDispatchThreadFactoryTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init(Gst.Config.builder()
+                .dispatchThreadFactory(r -> {
+                    Thread t = new Thread(r, "InitDispatchThreadFactoryTest dispatch");
+                    t.setDaemon(true);
+                    return t;
+                })
+                .build(), Gst.getVersion(), "InitDispatchThreadFactoryTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void ownedDispatchExecutor() {
+        assertNotSame(Gst.getExecutor(), Gst.getDispatchExecutor());
+        assertFalse(((ExecutorService) Gst.getDispatchExecutor()).isShutdown());
+    }
+
+    @Test
+    public void busDispatchOnFactoryThreads() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        Bus.EOS eos = source -> thread.complete(Thread.currentThread().getName());
+        pipeline.getBus().connect(eos);
+        pipeline.getBus().post(new EOSMessage(pipeline));
+        assertEquals("InitDispatchThreadFactoryTest dispatch", thread.get(5, TimeUnit.SECONDS));
+        pipeline.getBus().disconnect(eos);
+        pipeline.dispose();
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer;
+
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.glib.NativeScope;
+import org.freedesktop.gstreamer.glib.Natives;
+import org.freedesktop.gstreamer.lowlevel.NativeBackend;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeScopeTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("NativeScopeTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void scopedWrappersDisposedOnClose() {
+        Buffer outside = new Buffer(16);
+        Buffer first;
+        Buffer second;
+        Pipeline pipeline;
+        try (NativeScope scope = NativeScope.open()) {
+            first = new Buffer(16);
+            second = new Buffer(32);
+            pipeline = new Pipeline();
+            assertEquals(2, scope.size(), "Only mini objects should be tracked");
+            assertEquals(1, second.getMemoryCount());
+        }
+        assertThrows(IllegalStateException.class, first::getMemoryCount);
+        assertThrows(IllegalStateException.class, second::getMemoryCount);
+        assertEquals(1, outside.getMemoryCount());
+        assertNotNull(pipeline.getBus());
+        outside.dispose();
+        pipeline.dispose();
+    }
+
+    @Test
+    public void nestedScopes() {
+        try (NativeScope outer = NativeScope.open()) {
+            Buffer outerBuffer = new Buffer(8);
+            Buffer innerBuffer;
+            try (NativeScope inner = NativeScope.open()) {
+                innerBuffer = new Buffer(8);
+                assertEquals(1, inner.size());
+                assertThrows(IllegalStateException.class, outer::close);
+            }
+            assertThrows(IllegalStateException.class, innerBuffer::getMemoryCount);
+            assertEquals(1, outerBuffer.getMemoryCount());
+            assertEquals(1, outer.size());
+        }
+    }
+
+    @Test
+    public void explicitDisposeInScope() {
+        try (NativeScope scope = NativeScope.open()) {
+            Buffer buffer = new Buffer(8);
+            buffer.dispose();
+            assertThrows(IllegalStateException.class, buffer::getMemoryCount);
+        }
+    }
+
+    @Test
+    public void scopedWrapperNotSharedWithOtherThreads() throws Exception {
+        Pointer ptr = unwrappedBuffer();
+        Buffer other;
+        try (NativeScope scope = NativeScope.open()) {
+            Buffer scoped = Natives.objectFor(ptr, Buffer.class, true, true);
+            assertEquals(1, scope.size());
+            other = CompletableFuture.supplyAsync(
+                    () -> Natives.objectFor(ptr, Buffer.class, true, true))
+                    .get(5, TimeUnit.SECONDS);
+            assertNotSame(scoped, other);
+            assertSame(other, Natives.objectFor(ptr, Buffer.class, true, true));
+        }
+        assertEquals(1, other.getMemoryCount());
+        other.dispose();
+        NativeBackend.get().miniObjectUnref(ptr);
+    }
+
+    @Test
+    public void unscopedWrapperSurvivesScope() {
+        Pointer ptr = unwrappedBuffer();
+        Buffer unscoped;
+        try (NativeScope scope = NativeScope.open()) {
+            unscoped = Natives.unscoped(() -> Natives.objectFor(ptr, Buffer.class, true, true));
+            assertEquals(0, scope.size());
+        }
+        assertEquals(1, unscoped.getMemoryCount());
+        unscoped.dispose();
+        NativeBackend.get().miniObjectUnref(ptr);
+    }
+
+    /**
+     * A buffer referenced by the returned pointer, with no wrapper.
+     */
+    private static Pointer unwrappedBuffer() {
+        Buffer buffer = new Buffer(16);
+        Pointer ptr = Natives.getRawPointer(Natives.ref(buffer));
+        buffer.dispose();
+        return ptr;
+    }
+
+}
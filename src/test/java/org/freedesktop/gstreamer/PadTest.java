@@ -244,6 +244,49 @@ public class PadTest {
 
     }
 
+    @Test
+    public void addBufferListProbe() {
+
+        Element elem = ElementFactory.make("identity", "src");
+        BufferList list = new BufferList();
+        list.add(new Buffer(3));
+        list.add(new Buffer(3));
+        BufferList list2 = new BufferList();
+        list2.add(new Buffer(2));
+        final AtomicReference<BufferList> l = new AtomicReference<>();
+        final AtomicReference<Buffer> b = new AtomicReference<>();
+
+        Pad src = elem.getStaticPad("src");
+
+        Pad.BUFFER_LIST_PROBE list_probe = (pad, bufferList) -> {
+            l.set(bufferList);
+            return PadProbeReturn.OK;
+        };
+        Pad.DATA_PROBE data_probe = (pad, buffer) -> {
+            b.set(buffer);
+            return PadProbeReturn.OK;
+        };
+
+        elem.play();
+
+        src.addBufferListProbe(list_probe);
+        src.addDataProbe(data_probe);
+
+        src.pushList(list);
+        assertEquals(list, l.get(), "list_probe.bufferListReceived() was not called");
+        assertEquals(2, l.get().size());
+        assertNull(b.get(), "data_probe.dataReceived() should not have been called");
+
+        src.removeBufferListProbe(list_probe);
+        src.removeDataProbe(data_probe);
+
+        src.pushList(list2);
+        assertNotSame(list2, l.get(), "list_probe.bufferListReceived() should not have been called");
+
+        elem.stop();
+
+    }
+
     @Test
     public void addProbe_Data() {
 
@@ -0,0 +1,98 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer;
+
+import org.freedesktop.gstreamer.message.EOSMessage;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineContextTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("PipelineContextTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void invokeAndWait() {
+        try (PipelineContext ctx = new PipelineContext("invokeAndWait")) {
+            assertFalse(ctx.isContextThread());
+            assertTrue(ctx.invokeAndWait(ctx::isContextThread));
+            assertThrows(IllegalStateException.class, () -> ctx.invokeAndWait(() -> {
+                throw new IllegalStateException();
+            }));
+        }
+    }
+
+    @Test
+    public void busAndTimersOnContextThread() throws Exception {
+        try (PipelineContext ctx = new PipelineContext("bus")) {
+            Pipeline pipeline = ctx.invokeAndWait(() -> (Pipeline) Gst.parseLaunch("fakesrc ! fakesink"));
+            ctx.attach(pipeline);
+            CompletableFuture<Boolean> onContext = new CompletableFuture<>();
+            Bus.EOS eos = source -> onContext.complete(ctx.isContextThread());
+            pipeline.getBus().connect(eos);
+            pipeline.getBus().post(new EOSMessage(pipeline));
+            assertTrue(onContext.get(5, TimeUnit.SECONDS), "Bus message not delivered on context thread");
+
+            CompletableFuture<Boolean> timer = new CompletableFuture<>();
+            ctx.getExecutor().schedule(() -> timer.complete(ctx.isContextThread()), 10, TimeUnit.MILLISECONDS);
+            assertTrue(timer.get(5, TimeUnit.SECONDS), "Timer not run on context thread");
+
+            pipeline.getBus().disconnect(eos);
+            ctx.detach(pipeline);
+            assertNull(pipeline.getBus().getDispatchExecutor());
+            pipeline.dispose();
+        }
+    }
+
+    @Test
+    public void closeImmediately() {
+        for (int i = 0; i < 20; i++) {
+            new PipelineContext("immediate").close();
+        }
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            assertFalse(t.getName().equals("gstreamer context immediate") && t.isAlive(),
+                    "Context loop thread still running after close");
+        }
+    }
+
+    @Test
+    public void close() throws Exception {
+        PipelineContext ctx = new PipelineContext("close");
+        CompletableFuture<Boolean> queued = new CompletableFuture<>();
+        ctx.getExecutor().execute(() -> queued.complete(true));
+        ctx.close();
+        assertTrue(ctx.isClosed());
+        assertTrue(queued.isDone(), "Queued task not run before close");
+        assertTrue(ctx.getExecutor().isTerminated());
+        assertThrows(RejectedExecutionException.class, () -> ctx.getExecutor().execute(() -> {
+        }));
+        ctx.close();
+    }
+
+}
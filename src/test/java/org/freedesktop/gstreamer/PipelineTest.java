@@ -25,11 +25,21 @@ import org.freedesktop.gstreamer.glib.GObject;
 import org.freedesktop.gstreamer.glib.Natives;
 import org.freedesktop.gstreamer.lowlevel.GObjectAPI.GObjectStruct;
 import org.freedesktop.gstreamer.lowlevel.GObjectPtr;
+import org.freedesktop.gstreamer.message.EOSMessage;
+import org.freedesktop.gstreamer.message.Message;
+import org.freedesktop.gstreamer.message.MessageType;
 import org.junit.jupiter.api.*;
 
 import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static org.freedesktop.gstreamer.lowlevel.GstMessageAPI.GSTMESSAGE_API;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -121,6 +131,46 @@ public class PipelineTest {
         assertEquals(0, errors.size(), "parseLaunch with error!");
     }
 
+    @Test
+    public void testPlayPauseAsync() throws Exception {
+        Pipeline pipeline = (Pipeline) Gst.parseLaunch("fakesrc ! fakesink sync=true");
+        StateChangeReturn ret = pipeline.pauseAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(StateChangeReturn.SUCCESS, ret);
+        assertEquals(State.PAUSED, pipeline.getState(0));
+        pipeline.playAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(State.PLAYING, pipeline.getState(0));
+        pipeline.stop();
+        pipeline.dispose();
+    }
+
+    @Test
+    public void testPauseAsyncIgnoresUnrelatedAsyncDone() throws Exception {
+        // no source, so the sink never prerolls
+        Pipeline pipeline = (Pipeline) Gst.parseLaunch("identity name=child ! fakesink");
+        CompletableFuture<StateChangeReturn> paused = pipeline.pauseAsync();
+        pipeline.getBus().post(GSTMESSAGE_API.gst_message_new_async_done(pipeline.getElementByName("child")));
+        pipeline.getBus().post(GSTMESSAGE_API.gst_message_new_async_done(pipeline));
+        // message delivery is ordered, so these have been dispatched when this completes
+        CompletableFuture<Message> eos = pipeline.getBus().awaitMessage(EnumSet.of(MessageType.EOS), null);
+        pipeline.getBus().post(new EOSMessage(pipeline));
+        eos.get(5, TimeUnit.SECONDS);
+        assertFalse(paused.isDone(), "Completed by ASYNC_DONE before the pipeline is PAUSED");
+        paused.cancel(false);
+        pipeline.stop();
+        pipeline.dispose();
+    }
+
+    @Test
+    public void testPauseAsyncTimeout() throws Exception {
+        Pipeline pipeline = (Pipeline) Gst.parseLaunch("identity ! fakesink");
+        CompletableFuture<StateChangeReturn> paused = pipeline.pauseAsync(Duration.ofMillis(100));
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> paused.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof TimeoutException);
+        pipeline.stop();
+        pipeline.dispose();
+    }
+
     @Test
     public void testParseLaunchSingleElement() {
         ArrayList<GError> errors = new ArrayList<>();
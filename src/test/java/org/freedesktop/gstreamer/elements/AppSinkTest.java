@@ -0,0 +1,351 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.elements;
+
+import org.freedesktop.gstreamer.ElementFactory;
+import org.freedesktop.gstreamer.FlowReturn;
+import org.freedesktop.gstreamer.GCTracker;
+import org.freedesktop.gstreamer.Gst;
+import org.freedesktop.gstreamer.Pipeline;
+import org.freedesktop.gstreamer.Sample;
+import org.freedesktop.gstreamer.util.TestAssumptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AppSink.
+ */
+public class AppSinkTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init(Gst.getVersion(), "AppSinkTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void testSampleHandler() throws Exception {
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=10 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch eos = new CountDownLatch(1);
+        AppSink.SampleHandler handler = new AppSink.SampleHandler() {
+            @Override
+            public FlowReturn newSample(AppSink elem, Sample sample) {
+                assertNotNull(sample.getBuffer());
+                count.incrementAndGet();
+                sample.dispose();
+                return FlowReturn.OK;
+            }
+
+            @Override
+            public void eos(AppSink elem) {
+                eos.countDown();
+            }
+        };
+        sink.setSampleHandler(handler);
+        assertSame(handler, sink.getSampleHandler());
+        pipe.play();
+        assertTrue(eos.await(5, TimeUnit.SECONDS), "Timed out waiting for EOS");
+        pipe.stop();
+        assertEquals(10, count.get());
+        sink.clearSampleHandler();
+        assertNull(sink.getSampleHandler());
+        pipe.dispose();
+    }
+
+    @Test
+    public void testTryPullSample() {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=1 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        assertNull(sink.tryPullSample(0, TimeUnit.MILLISECONDS));
+        pipe.play();
+        Sample sample = sink.tryPullSample(5, TimeUnit.SECONDS);
+        assertNotNull(sample);
+        sample.dispose();
+        assertNull(sink.tryPullSample(100, TimeUnit.MILLISECONDS));
+        assertTrue(sink.isEOS());
+        pipe.stop();
+        pipe.dispose();
+    }
+
+    @Test
+    public void testDrainTo() {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=20 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        pipe.play();
+        pipe.getState();
+        List<Sample> samples = new ArrayList<>();
+        while (!sink.isEOS()) {
+            int drained = sink.drainTo(samples, 8, 1, TimeUnit.SECONDS);
+            assertTrue(drained <= 8);
+        }
+        pipe.stop();
+        assertEquals(20, samples.size());
+        samples.forEach(Sample::dispose);
+        pipe.dispose();
+    }
+
+    @Test
+    public void testPublisherBlocking() throws Exception {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=20 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        AppSinkPublisher publisher = new AppSinkPublisher(sink, 2, false);
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch complete = new CountDownLatch(1);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<Sample>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Sample item) {
+                count.incrementAndGet();
+                item.dispose();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                complete.countDown();
+            }
+        });
+        pipe.play();
+        Thread.sleep(200);
+        assertEquals(0, count.get());
+        subscription[0].request(5);
+        Thread.sleep(200);
+        assertEquals(5, count.get());
+        assertEquals(5, publisher.getDelivered());
+        assertEquals(0, publisher.getDemand());
+        subscription[0].request(Long.MAX_VALUE);
+        assertTrue(complete.await(5, TimeUnit.SECONDS), "Timed out waiting for completion");
+        pipe.stop();
+        assertEquals(20, count.get());
+        assertEquals(0, publisher.getDropped());
+        pipe.dispose();
+    }
+
+    @Test
+    public void testPublisherDrop() throws Exception {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=20 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        AppSinkPublisher publisher = new AppSinkPublisher(sink, 4, true);
+        CountDownLatch complete = new CountDownLatch(1);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        List<Sample> samples = new ArrayList<>();
+        publisher.subscribe(new Flow.Subscriber<Sample>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Sample item) {
+                samples.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                complete.countDown();
+            }
+        });
+        pipe.play();
+        Thread.sleep(500);
+        subscription[0].request(Long.MAX_VALUE);
+        assertTrue(complete.await(5, TimeUnit.SECONDS), "Timed out waiting for completion");
+        pipe.stop();
+        assertEquals(4, samples.size());
+        assertEquals(16, publisher.getDropped());
+        assertEquals(4, publisher.getDelivered());
+        samples.forEach(Sample::dispose);
+        pipe.dispose();
+    }
+
+    @Test
+    public void testPublisherDropWhileDelivering() throws Exception {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("videotestsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "videotestsrc num-buffers=50 ! appsink name=sink sync=false");
+        AppSink sink = (AppSink) pipe.getElementByName("sink");
+        AppSinkPublisher publisher = new AppSinkPublisher(sink, 2, true);
+        CountDownLatch complete = new CountDownLatch(1);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<Sample>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Sample item) {
+                item.dispose();
+                try {
+                    // hold the drain loop while the streaming thread queues
+                    Thread.sleep(5);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                complete.countDown();
+            }
+        });
+        pipe.play();
+        while (complete.getCount() > 0 && publisher.getDelivered() < 50) {
+            subscription[0].request(1);
+            Thread.sleep(2);
+        }
+        subscription[0].request(Long.MAX_VALUE);
+        assertTrue(complete.await(5, TimeUnit.SECONDS), "Timed out waiting for completion");
+        pipe.stop();
+        assertEquals(50, publisher.getDelivered() + publisher.getDropped());
+        pipe.dispose();
+    }
+
+    @Test
+    public void testPublisherSingleUse() throws Exception {
+        TestAssumptions.requireGstVersion(1, 10);
+        TestAssumptions.requireElement("appsink");
+        AppSink sink = (AppSink) ElementFactory.make("appsink", null);
+        AppSinkPublisher publisher = new AppSinkPublisher(sink, 2, false);
+        List<Throwable> errors = new ArrayList<>();
+        Flow.Subscriber<Sample> subscriber = new Flow.Subscriber<Sample>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.cancel();
+            }
+
+            @Override
+            public void onNext(Sample item) {
+                item.dispose();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+        publisher.subscribe(subscriber);
+        assertTrue(errors.isEmpty());
+        publisher.subscribe(subscriber);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+        sink.dispose();
+    }
+
+    @Test
+    public void testSampleHandlerDoesNotRetainSink() {
+        TestAssumptions.requireElement("appsink");
+        AppSink sink = (AppSink) ElementFactory.make("appsink", null);
+        sink.setSampleHandler(new AppSink.SampleHandler() {
+            @Override
+            public FlowReturn newSample(AppSink elem, Sample sample) {
+                sample.dispose();
+                return FlowReturn.OK;
+            }
+
+            @Override
+            public void eos(AppSink elem) {
+            }
+        });
+        GCTracker tracker = new GCTracker(sink);
+        sink = null;
+        assertTrue(tracker.waitGC(), "AppSink not garbage collected");
+        assertTrue(tracker.waitDestroyed(), "AppSink not destroyed");
+    }
+
+    @Test
+    public void testPublisherDoesNotRetainSink() {
+        TestAssumptions.requireElement("appsink");
+        AppSink sink = (AppSink) ElementFactory.make("appsink", null);
+        new AppSinkPublisher(sink, 2, false).subscribe(new Flow.Subscriber<Sample>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Sample item) {
+                item.dispose();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        GCTracker tracker = new GCTracker(sink);
+        sink = null;
+        assertTrue(tracker.waitGC(), "AppSink not garbage collected");
+        assertTrue(tracker.waitDestroyed(), "AppSink not destroyed");
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.elements;
+
+import org.freedesktop.gstreamer.Bus;
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.Gst;
+import org.freedesktop.gstreamer.Pipeline;
+import org.freedesktop.gstreamer.util.TestAssumptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AppSrc.
+ */
+public class AppSrcTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init(Gst.getVersion(), "AppSrcTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void testSubscriber() throws Exception {
+        TestAssumptions.requireElement("appsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "appsrc name=src max-bytes=4096 ! fakesink sync=false");
+        AppSrc src = (AppSrc) pipe.getElementByName("src");
+        AppSrcSubscriber subscriber = new AppSrcSubscriber(src, 4);
+        CountDownLatch eos = new CountDownLatch(1);
+        pipe.getBus().connect((Bus.EOS) source -> eos.countDown());
+        try (SubmissionPublisher<Buffer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            pipe.play();
+            for (int i = 0; i < 50; i++) {
+                publisher.submit(new Buffer(1024));
+            }
+        }
+        assertTrue(eos.await(5, TimeUnit.SECONDS), "Timed out waiting for EOS");
+        pipe.stop();
+        assertEquals(50, subscriber.getPushed());
+        assertNull(subscriber.getError());
+        pipe.dispose();
+    }
+
+    @Test
+    public void testSubscriberAfterPlay() throws Exception {
+        TestAssumptions.requireElement("appsrc");
+        Pipeline pipe = (Pipeline) Gst.parseLaunch(
+                "appsrc name=src max-bytes=4096 block=true ! fakesink sync=false");
+        AppSrc src = (AppSrc) pipe.getElementByName("src");
+        CountDownLatch needData = new CountDownLatch(1);
+        src.connect((AppSrc.NEED_DATA) (elem, size) -> needData.countDown());
+        CountDownLatch eos = new CountDownLatch(1);
+        pipe.getBus().connect((Bus.EOS) source -> eos.countDown());
+        pipe.play();
+        // need-data is not emitted again until data has been pushed
+        assertTrue(needData.await(5, TimeUnit.SECONDS), "Timed out waiting for need-data");
+        AppSrcSubscriber subscriber = new AppSrcSubscriber(src, 4);
+        try (SubmissionPublisher<Buffer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            for (int i = 0; i < 50; i++) {
+                publisher.submit(new Buffer(1024));
+            }
+        }
+        assertTrue(eos.await(5, TimeUnit.SECONDS), "Timed out waiting for EOS");
+        pipe.stop();
+        assertEquals(50, subscriber.getPushed());
+        assertTrue(src.getBoolean("block"), "block property not restored");
+        pipe.dispose();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.freedesktop.gstreamer.glib;
+
+import com.sun.jna.Pointer;
+import org.freedesktop.gstreamer.lowlevel.GPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeObjectTableTest {
+
+    @Test
+    public void putGetRemove() {
+        NativeObjectTable table = new NativeObjectTable(4);
+        TestObject a = new TestObject(0x1000);
+        TestObject b = new TestObject(0x2000);
+        table.put(0x1000, a);
+        table.put(0x2000, b);
+        assertSame(a, table.get(0x1000));
+        assertSame(b, table.get(0x2000));
+        assertNull(table.get(0x3000));
+        assertNull(table.get(0));
+        TestObject c = new TestObject(0x1000);
+        table.put(0x1000, c);
+        assertSame(c, table.get(0x1000));
+        assertEquals(2, table.size());
+        table.remove(0x1000);
+        assertNull(table.get(0x1000));
+        assertSame(b, table.get(0x2000));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void manyEntries() {
+        NativeObjectTable table = new NativeObjectTable(1);
+        List<TestObject> objects = new ArrayList<>();
+        for (int i = 1; i <= 10000; i++) {
+            TestObject obj = new TestObject(i * 16L);
+            objects.add(obj);
+            table.put(i * 16L, obj);
+        }
+        assertEquals(10000, table.size());
+        for (int i = 1; i <= 10000; i += 2) {
+            table.remove(i * 16L);
+        }
+        for (int i = 1; i <= 10000; i++) {
+            if (i % 2 == 0) {
+                assertSame(objects.get(i - 1), table.get(i * 16L));
+            } else {
+                assertNull(table.get(i * 16L));
+            }
+        }
+        assertEquals(5000, table.size());
+    }
+
+    @Test
+    public void collectedEntriesExpunged() throws Exception {
+        NativeObjectTable table = new NativeObjectTable(2);
+        for (int i = 1; i <= 100; i++) {
+            table.put(i * 16L, new TestObject(i * 16L));
+        }
+        TestObject live = new TestObject(0x10000);
+        table.put(0x10000, live);
+        for (int i = 0; i < 50 && table.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(20);
+            table.expungeStaleEntries();
+        }
+        assertEquals(1, table.size());
+        assertSame(live, table.get(0x10000));
+    }
+
+    private static class TestObject extends NativeObject {
+
+        TestObject(long address) {
+            super(new TestHandle(new GPointer(new Pointer(address))));
+        }
+
+    }
+
+    private static class TestHandle extends NativeObject.Handle {
+
+        TestHandle(GPointer ptr) {
+            super(ptr, false);
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+
+        @Override
+        protected void disposeNativeHandle(GPointer ptr) {
+        }
+
+    }
+
+}
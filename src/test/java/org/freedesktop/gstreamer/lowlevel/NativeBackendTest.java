@@ -0,0 +1,87 @@
+/*
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freedesktop.gstreamer.lowlevel;
+
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.Gst;
+import org.freedesktop.gstreamer.glib.Natives;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeBackendTest {
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        Gst.init("NativeBackendTest");
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test
+    public void selectedBackend() {
+        // set by the ffmTest build task, which runs against the multi-release jar
+        assertEquals(System.getProperty("gstreamer.test.expectBackend", "jna"),
+                NativeBackend.get().getName());
+    }
+
+    @Test
+    public void unknownBackendFallsBackToJNA() {
+        assertEquals("jna", NativeBackends.select("unknown").getName());
+    }
+
+    @Test
+    public void ffmBackendSelection() {
+        NativeBackend backend = NativeBackends.select("ffm");
+        if (Runtime.version().feature() < 22) {
+            assertEquals("jna", backend.getName());
+        } else if ("ffm".equals(System.getProperty("gstreamer.test.expectBackend"))) {
+            assertEquals("ffm", backend.getName());
+            assertTrue(backend.getClass().getSimpleName().startsWith("FFM"));
+        }
+        roundTrip(backend);
+    }
+
+    @Test
+    public void jnaBackendRoundTrip() {
+        roundTrip(new JNABackend());
+    }
+
+    private static void roundTrip(NativeBackend backend) {
+        Buffer buffer = new Buffer(16);
+        int refs = buffer.getRefCount();
+        backend.miniObjectRef(Natives.getRawPointer(buffer));
+        assertEquals(refs + 1, buffer.getRefCount());
+        backend.miniObjectUnref(Natives.getRawPointer(buffer));
+        assertEquals(refs, buffer.getRefCount());
+
+        GstBufferAPI.MapInfoStruct info = new GstBufferAPI.MapInfoStruct();
+        assertTrue(backend.bufferMap(Natives.getRawPointer(buffer), info, GstBufferAPI.GST_MAP_WRITE));
+        ByteBuffer data = info.data.getByteBuffer(0, info.size.intValue());
+        assertEquals(16, data.capacity());
+        data.put(0, (byte) 42);
+        backend.bufferUnmap(Natives.getRawPointer(buffer), info);
+        assertEquals(42, buffer.map(false).get(0));
+        buffer.unmap();
+        buffer.dispose();
+    }
+
+}